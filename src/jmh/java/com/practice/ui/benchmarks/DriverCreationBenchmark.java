@@ -0,0 +1,30 @@
+package com.practice.ui.benchmarks;
+
+import com.practice.ui.factory.BrowserFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость создания и закрытия драйвера через {@link BrowserFactory}
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DriverCreationBenchmark {
+
+    @Benchmark
+    public void createAndQuitDriver() {
+        WebDriver driver = BrowserFactory.createDriver();
+        driver.quit();
+    }
+}
@@ -0,0 +1,51 @@
+package com.practice.ui.benchmarks;
+
+import com.practice.ui.factory.BrowserFactory;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URL;
+
+/**
+ * Состояние бенчмарков: один браузер на весь прогон и локальная копия страницы формы
+ * из тестовых ресурсов, чтобы замеры не зависели от сети
+ */
+@State(Scope.Benchmark)
+public class FormPageFixture {
+    private static final String FORM_PAGE = "/site/form-fields/index.html";
+
+    WebDriver driver;
+    String formPageUrl;
+
+    @Setup(Level.Trial)
+    public void startBrowser() {
+        driver = BrowserFactory.createDriver();
+        formPageUrl = formPageUrl();
+    }
+
+    @Setup(Level.Iteration)
+    public void openFormPage() {
+        driver.get(formPageUrl);
+    }
+
+    @TearDown(Level.Trial)
+    public void quitBrowser() {
+        driver.quit();
+    }
+
+    /**
+     * Получить адрес локальной копии страницы формы
+     * @return file-URL страницы
+     */
+    static String formPageUrl() {
+        URL resource = FormPageFixture.class.getResource(FORM_PAGE);
+        if (resource == null) {
+            throw new IllegalStateException("Fixture page not found on classpath: " + FORM_PAGE);
+        }
+        return resource.toExternalForm();
+    }
+}
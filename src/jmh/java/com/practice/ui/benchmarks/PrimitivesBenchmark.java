@@ -0,0 +1,73 @@
+package com.practice.ui.benchmarks;
+
+import com.practice.ui.pages.FormFieldsPage;
+import com.practice.ui.utils.ElementUtils;
+import com.practice.ui.utils.WaitUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Задержка и пропускная способность базовых операций фреймворка на локальной странице формы
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PrimitivesBenchmark {
+    private static final By NAME_INPUT = By.id("name-input");
+    private static final By WATER_CHECKBOX = By.id("drink1");
+    private static final By HEADER = By.cssSelector("h1");
+    private static final By TOOLS = By.xpath("//label[.='Automation tools']/following-sibling::ul//li");
+
+    @Benchmark
+    public WebElement waitForVisibility(FormPageFixture fixture) {
+        return WaitUtils.waitForVisibility(fixture.driver, NAME_INPUT);
+    }
+
+    @Benchmark
+    public void click(FormPageFixture fixture) {
+        ElementUtils.click(fixture.driver, WATER_CHECKBOX);
+    }
+
+    @Benchmark
+    public void sendKeys(FormPageFixture fixture) {
+        ElementUtils.sendKeys(fixture.driver, NAME_INPUT, "Name");
+    }
+
+    @Benchmark
+    public String getText(FormPageFixture fixture) {
+        return ElementUtils.getText(fixture.driver, HEADER);
+    }
+
+    @Benchmark
+    public List<String> getElementsTexts(FormPageFixture fixture) {
+        return ElementUtils.getElementsTexts(fixture.driver, TOOLS);
+    }
+
+    @Benchmark
+    public FormFieldsPage fillFormStepByStep(FormPageFixture fixture) {
+        FormFieldsPage page = new FormFieldsPage(fixture.driver);
+        page.open(fixture.formPageUrl);
+        return page.enterName("Name").enterPassword("Password").selectDrinks()
+                .selectYellowColor().selectLikeAutomation("Yes").enterEmail("name@example.com")
+                .enterMessage("Tools: 5\nLongest: Katalon Studio");
+    }
+
+    @Benchmark
+    public FormFieldsPage fillFormBatch(FormPageFixture fixture) {
+        FormFieldsPage page = new FormFieldsPage(fixture.driver);
+        page.open(fixture.formPageUrl);
+        return page.fillForm("Name", "Password", "Yes", "name@example.com", "Tools: 5\nLongest: Katalon Studio");
+    }
+}
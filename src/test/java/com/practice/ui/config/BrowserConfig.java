@@ -3,7 +3,7 @@ package com.practice.ui.config;
 import org.aeonbits.owner.Config;
 
 @Config.LoadPolicy(Config.LoadType.MERGE)
-@Config.Sources({"classpath:config/browser.properties", "classpath:config/tests.properties"})
+@Config.Sources({"system:properties", "classpath:config/browser.properties", "classpath:config/tests.properties"})
 public interface BrowserConfig extends Config {
     
     @Key("browser.type")
@@ -26,13 +26,241 @@ public interface BrowserConfig extends Config {
     @DefaultValue("60")
     int timeout();
     
+    @Key("browser.page.load.strategy")
+    @DefaultValue("eager")
+    String pageLoadStrategy();
+
+    @Key("wait.implicit.enabled")
+    @DefaultValue("false")
+    boolean isImplicitWaitEnabled();
+
+    @Key("wait.timeout.presence")
+    @DefaultValue("${browser.timeout}")
+    int presenceTimeout();
+
+    @Key("wait.timeout.visibility")
+    @DefaultValue("${browser.timeout}")
+    int visibilityTimeout();
+
+    @Key("wait.timeout.absence")
+    @DefaultValue("5")
+    int absenceTimeout();
+
+    @Key("wait.timeout.page.load")
+    @DefaultValue("${browser.timeout}")
+    int pageLoadTimeout();
+
+    @Key("wait.strategy")
+    @DefaultValue("observer")
+    String waitStrategy();
+
+    @Key("wait.backoff.initial.ms")
+    @DefaultValue("50")
+    long waitBackoffInitialMillis();
+
+    @Key("wait.backoff.max.ms")
+    @DefaultValue("500")
+    long waitBackoffMaxMillis();
+    
     @Key("browser.remote")
     @DefaultValue("false")
     boolean isRemote();
 
     @Key("browser.remote.url")
     String remoteUrl();
+
+    @Key("browser.pool.enabled")
+    @DefaultValue("false")
+    boolean isPoolEnabled();
+
+    @Key("browser.pool.size")
+    @DefaultValue("2")
+    int poolSize();
+
+    @Key("browser.pool.max.reuse")
+    @DefaultValue("50")
+    int poolMaxReuse();
+
+    @Key("browser.contexts.enabled")
+    @DefaultValue("false")
+    boolean isContextsEnabled();
+
+    @Key("browser.contexts.max")
+    @DefaultValue("8")
+    int contextsMax();
+
+    @Key("browser.prewarm.enabled")
+    @DefaultValue("false")
+    boolean isPrewarmEnabled();
+
+    @Key("browser.prewarm.size")
+    @DefaultValue("1")
+    int prewarmSize();
+    
+    @Key("browser.driver.manifest.enabled")
+    @DefaultValue("true")
+    boolean isDriverManifestEnabled();
+
+    @Key("browser.driver.manifest.path")
+    @DefaultValue("")
+    String driverManifestPath();
     
     @Key("form.page.url")
     String formPageUrl();
+
+    @Key("page.element.cache.enabled")
+    @DefaultValue("true")
+    boolean isElementCacheEnabled();
+
+    @Key("allure.steps.mode")
+    @DefaultValue("on_failure")
+    String allureStepsMode();
+
+    @Key("allure.steps.depth")
+    @DefaultValue("1")
+    int allureStepsDepth();
+
+    @Key("screenshot.policy")
+    @DefaultValue("on_failure")
+    String screenshotPolicy();
+
+    @Key("screenshot.format")
+    @DefaultValue("jpeg")
+    String screenshotFormat();
+
+    @Key("screenshot.max.width")
+    @DefaultValue("1280")
+    int screenshotMaxWidth();
+
+    @Key("screenshot.quality")
+    @DefaultValue("0.75")
+    float screenshotQuality();
+
+    @Key("screenshot.max.bytes")
+    @DefaultValue("307200")
+    int screenshotMaxBytes();
+
+    @Key("screenshot.threads")
+    @DefaultValue("2")
+    int screenshotThreads();
+
+    @Key("screenshot.queue.size")
+    @DefaultValue("16")
+    int screenshotQueueSize();
+
+    @Key("element.actions.mode")
+    @DefaultValue("classic")
+    String elementActionsMode();
+
+    @Key("form.fill.mode")
+    @DefaultValue("script")
+    String formFillMode();
+
+    @Key("telemetry.enabled")
+    @DefaultValue("false")
+    boolean isTelemetryEnabled();
+
+    @Key("telemetry.report.path")
+    @DefaultValue("target/telemetry/driver-telemetry.json")
+    String telemetryReportPath();
+
+    @Key("site.target")
+    @DefaultValue("live")
+    String siteTarget();
+
+    @Key("site.local.port")
+    @DefaultValue("0")
+    int siteLocalPort();
+
+    @Key("site.local.latency.ms")
+    @DefaultValue("0")
+    long siteLocalLatency();
+
+    @Key("site.local.bandwidth.kbps")
+    @DefaultValue("0")
+    int siteLocalBandwidth();
+
+    @Key("site.local.rules")
+    @DefaultValue("")
+    String[] siteLocalRules();
+
+    @Key("network.block.enabled")
+    @DefaultValue("false")
+    boolean isNetworkBlockEnabled();
+
+    @Key("network.block.urls")
+    @DefaultValue("")
+    String[] networkBlockUrls();
+
+    @Key("network.block.resource.types")
+    @DefaultValue("")
+    String[] networkBlockResourceTypes();
+
+    @Key("shard.total")
+    @DefaultValue("1")
+    int shardTotal();
+
+    @Key("shard.index")
+    @DefaultValue("0")
+    int shardIndex();
+
+    @Key("test.history.path")
+    @DefaultValue("test-history/history.properties")
+    String testHistoryPath();
+
+    @Key("test.history.allure.dir")
+    @DefaultValue("target/allure-results")
+    String testHistoryAllureDir();
+
+    @Key("test.history.allure.shared")
+    @DefaultValue("false")
+    boolean isTestHistoryAllureShared();
+
+    @Key("test.order.enabled")
+    @DefaultValue("true")
+    boolean isTestOrderEnabled();
+
+    @Key("test.failfast.threshold")
+    @DefaultValue("0")
+    int failFastThreshold();
+
+    @Key("locator.xpath.to.css")
+    @DefaultValue("true")
+    boolean isLocatorXpathToCss();
+
+    @Key("test.retry.count")
+    @DefaultValue("0")
+    int testRetryCount();
+
+    @Key("browser.profile.enabled")
+    @DefaultValue("false")
+    boolean isProfileEnabled();
+
+    @Key("browser.profile.dir")
+    @DefaultValue("")
+    String profileDir();
+
+    @Key("browser.profile.cache.size.mb")
+    @DefaultValue("200")
+    int profileCacheSizeMb();
+
+    @Key("remote.http.connect.timeout")
+    @DefaultValue("10")
+    int remoteHttpConnectTimeout();
+
+    @Key("remote.http.read.timeout")
+    @DefaultValue("180")
+    int remoteHttpReadTimeout();
+
+    @Key("remote.http.http2")
+    @DefaultValue("false")
+    boolean isRemoteHttp2();
+
+    @Key("remote.http.pool.size")
+    @DefaultValue("0")
+    int remoteHttpPoolSize();
+
+    @Key("remote.http.keepalive.seconds")
+    @DefaultValue("300")
+    int remoteHttpKeepAliveSeconds();
 }
\ No newline at end of file
@@ -1,14 +1,27 @@
 package com.practice.ui.core;
 
+import com.practice.ui.config.ConfigFactory;
+import com.practice.ui.utils.JsLocator;
+import com.practice.ui.utils.ObserverWait;
+import com.practice.ui.utils.ReadinessProbe;
+import com.practice.ui.utils.ReadinessProbes;
+import com.practice.ui.utils.WaitPolicy;
+import com.practice.ui.utils.WaitType;
+import com.practice.ui.utils.WaitUtils;
 import io.qameta.allure.Step;
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openqa.selenium.support.ui.Select;
+import org.openqa.selenium.support.ui.Wait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,19 +29,56 @@ import org.slf4j.LoggerFactory;
  * Базовый класс для всех страниц
  */
 public abstract class BasePage {
+	private static final String FILL_SCRIPT = JsLocator.FIND_ALL_FUNCTION + """
+			var fields = arguments[0], failed = [];
+			function setProperty(el, name, value) {
+			  var descriptor = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(el), name);
+			  if (descriptor && descriptor.set) { descriptor.set.call(el, value); } else { el[name] = value; }
+			}
+			function fire(el, type) { el.dispatchEvent(new Event(type, {bubbles: true})); }
+			fields.forEach(function (field, index) {
+			  var found = __findAll(field[0], field[1]);
+			  if (!found.length) { failed.push(index); return; }
+			  var el = found[0], value = field[2];
+			  var tag = el.tagName.toLowerCase(), type = (el.type || '').toLowerCase();
+			  el.focus();
+			  if (tag === 'select') {
+			    var option = Array.prototype.find.call(el.options, function (o) {
+			      return o.text.trim() === String(value).trim();
+			    });
+			    if (!option) { failed.push(index); return; }
+			    option.selected = true;
+			  } else if (type === 'checkbox' || type === 'radio') {
+			    setProperty(el, 'checked', value === true || value === 'true');
+			  } else {
+			    setProperty(el, 'value', String(value));
+			  }
+			  fire(el, 'input');
+			  fire(el, 'change');
+			  el.blur();
+			});
+			return failed;
+			""";
+
 	protected final WebDriver driver;
-	protected final WebDriverWait wait;
+	protected final Wait<WebDriver> wait;
+	protected final ElementCache elementCache;
 	protected final Logger logger = LoggerFactory.getLogger(getClass());
 
 	public BasePage(WebDriver driver) {
 		this.driver = driver;
-		this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-		PageFactory.initElements(driver, this);
+		this.wait = WaitUtils.createWait(driver, WaitType.VISIBILITY);
+		this.elementCache = new ElementCache(driver);
+		if (ConfigFactory.getBrowserConfig().isElementCacheEnabled()) {
+			PageFactory.initElements(new CachingFieldDecorator(driver, elementCache), this);
+		} else {
+			PageFactory.initElements(driver, this);
+		}
 		logger.debug("Инициализирована страница: {}", getClass().getSimpleName());
 	}
 
 	/**
-	 * Открыть URL
+	 * Открыть URL и дождаться готовности страницы по {@link #readiness()}
 	 *
 	 * @param url URL для открытия
 	 */
@@ -36,6 +86,48 @@ public abstract class BasePage {
 	public void open(String url) {
 		logger.info("Открытие URL: {}", url);
 		driver.get(url);
+		elementCache.clear();
+		awaitReadiness();
+	}
+
+	/**
+	 * Условие готовности страницы после перехода.
+	 * По умолчанию достаточно разобранного документа; страницы, которым нужен конкретный элемент
+	 * или затихание сети, переопределяют метод
+	 *
+	 * @return условие готовности
+	 */
+	protected ReadinessProbe readiness() {
+		return ReadinessProbes.documentInteractive();
+	}
+
+	/**
+	 * Дождаться готовности страницы
+	 */
+	protected void awaitReadiness() {
+		ReadinessProbe probe = readiness();
+		long start = System.currentTimeMillis();
+		probe.await(driver, WaitPolicy.timeout(WaitType.PAGE_LOAD));
+		logger.debug("Страница готова ({}) за {} мс", probe, System.currentTimeMillis() - start);
+	}
+
+	/**
+	 * Получить кэш элементов страницы со счетчиками попаданий и промахов
+	 *
+	 * @return кэш элементов
+	 */
+	public ElementCache getElementCache() {
+		return elementCache;
+	}
+
+	/**
+	 * Найти элемент по локатору через кэш элементов страницы
+	 *
+	 * @param locator локатор элемента
+	 * @return элемент
+	 */
+	protected WebElement find(By locator) {
+		return elementCache.find(locator);
 	}
 
 	/**
@@ -66,7 +158,8 @@ public abstract class BasePage {
 	 */
 	@Step("Ожидание видимости элемента")
 	protected WebElement waitForVisibility(WebElement element) {
-		return wait.until(ExpectedConditions.visibilityOf(element));
+		return observe(element, ObserverWait.Condition.VISIBLE)
+				.orElseGet(() -> wait.until(ExpectedConditions.visibilityOf(element)));
 	}
 
 	/**
@@ -77,7 +170,8 @@ public abstract class BasePage {
 	 */
 	@Step("Ожидание видимости элемента по локатору")
 	protected WebElement waitForVisibility(By locator) {
-		return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+		return observe(locator, ObserverWait.Condition.VISIBLE)
+				.orElseGet(() -> wait.until(ExpectedConditions.visibilityOfElementLocated(locator)));
 	}
 
 	/**
@@ -88,7 +182,8 @@ public abstract class BasePage {
 	 */
 	@Step("Ожидание кликабельности элемента")
 	protected WebElement waitForClickability(WebElement element) {
-		return wait.until(ExpectedConditions.elementToBeClickable(element));
+		return observe(element, ObserverWait.Condition.CLICKABLE)
+				.orElseGet(() -> wait.until(ExpectedConditions.elementToBeClickable(element)));
 	}
 
 	/**
@@ -99,7 +194,8 @@ public abstract class BasePage {
 	 */
 	@Step("Ожидание кликабельности элемента по локатору")
 	protected WebElement waitForClickability(By locator) {
-		return wait.until(ExpectedConditions.elementToBeClickable(locator));
+		return observe(locator, ObserverWait.Condition.CLICKABLE)
+				.orElseGet(() -> wait.until(ExpectedConditions.elementToBeClickable(locator)));
 	}
 
 	/**
@@ -183,7 +279,7 @@ public abstract class BasePage {
 	@Step("Проверить видимость элемента")
 	protected boolean isElementVisible(WebElement element) {
 		try {
-			return element.isDisplayed();
+			return WaitPolicy.withoutImplicitWait(driver, element::isDisplayed);
 		} catch (Exception e) {
 			return false;
 		}
@@ -198,10 +294,94 @@ public abstract class BasePage {
 	@Step("Проверить видимость элемента с локатором")
 	protected boolean isElementVisible(By locator) {
 		try {
-			List<WebElement> elements = driver.findElements(locator);
+			List<WebElement> elements = WaitPolicy.withoutImplicitWait(driver, () -> driver.findElements(locator));
 			return !elements.isEmpty() && elements.get(0).isDisplayed();
 		} catch (Exception e) {
 			return false;
 		}
 	}
+
+	private Optional<WebElement> observe(WebElement element, ObserverWait.Condition condition) {
+		if (!WaitUtils.isObserverEnabled()) {
+			return Optional.empty();
+		}
+		return ObserverWait.await(driver, element, condition, WaitPolicy.timeout(WaitType.VISIBILITY))
+				.map(WebElement.class::cast);
+	}
+
+	private Optional<WebElement> observe(By locator, ObserverWait.Condition condition) {
+		if (!WaitUtils.isObserverEnabled()) {
+			return Optional.empty();
+		}
+		return ObserverWait.await(driver, locator, condition, WaitPolicy.timeout(WaitType.VISIBILITY))
+				.map(WebElement.class::cast);
+	}
+
+	/**
+	 * Заполнить несколько полей формы способом из параметра {@code form.fill.mode}.
+	 * Значения: текст для полей ввода, видимый текст опции для select, true/false для checkbox и radio
+	 *
+	 * @param fields поля формы и их значения в порядке заполнения
+	 */
+	@Step("Заполнить поля формы")
+	protected void fillFields(Map<By, ?> fields) {
+		fillFields(fields, FillMode.fromString(ConfigFactory.getBrowserConfig().formFillMode()));
+	}
+
+	/**
+	 * Заполнить несколько полей формы.
+	 * В режиме {@link FillMode#SCRIPT} все поля заполняются одним скриптом, поля, которые скрипт
+	 * не нашел или не смог заполнить, дозаполняются по одному через нажатия клавиш и клики
+	 *
+	 * @param fields поля формы и их значения в порядке заполнения
+	 * @param mode   способ заполнения
+	 */
+	@Step("Заполнить поля формы ({mode})")
+	protected void fillFields(Map<By, ?> fields, FillMode mode) {
+		logger.debug("Заполнение {} полей формы, режим {}", fields.size(), mode);
+		Map<By, Object> remaining = new LinkedHashMap<>(fields);
+		if (mode == FillMode.SCRIPT && driver instanceof JavascriptExecutor) {
+			remaining = fillWithScript(fields);
+		}
+		remaining.forEach(this::fillNative);
+	}
+
+	private Map<By, Object> fillWithScript(Map<By, ?> fields) {
+		List<By> locators = new ArrayList<>();
+		List<List<Object>> payload = new ArrayList<>();
+		Map<By, Object> remaining = new LinkedHashMap<>();
+		fields.forEach((locator, value) -> {
+			Optional<JsLocator> jsLocator = JsLocator.from(locator);
+			if (jsLocator.isPresent()) {
+				locators.add(locator);
+				payload.add(List.of(jsLocator.get().strategy(), jsLocator.get().value(), value));
+			} else {
+				remaining.put(locator, value);
+			}
+		});
+		if (!payload.isEmpty()) {
+			List<?> failed = (List<?>) ((JavascriptExecutor) driver).executeScript(FILL_SCRIPT, payload);
+			for (Object index : failed) {
+				By locator = locators.get(((Number) index).intValue());
+				logger.debug("Поле не заполнено скриптом, заполняем вручную: {}", locator);
+				remaining.put(locator, fields.get(locator));
+			}
+		}
+		return remaining;
+	}
+
+	private void fillNative(By locator, Object value) {
+		WebElement element = waitForVisibility(locator);
+		String type = element.getAttribute("type");
+		if ("select".equalsIgnoreCase(element.getTagName())) {
+			new Select(element).selectByVisibleText(String.valueOf(value));
+		} else if ("checkbox".equalsIgnoreCase(type) || "radio".equalsIgnoreCase(type)) {
+			if (element.isSelected() != Boolean.parseBoolean(String.valueOf(value))) {
+				click(locator);
+			}
+		} else {
+			element.clear();
+			element.sendKeys(String.valueOf(value));
+		}
+	}
 }
\ No newline at end of file
@@ -1,24 +1,29 @@
 package com.practice.ui.core;
 
-import com.practice.ui.factory.BrowserFactory;
+import com.practice.ui.execution.FailFastCondition;
+import com.practice.ui.server.LocalSiteExtension;
 import io.qameta.allure.Allure;
-import io.qameta.allure.Attachment;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
-
 /**
- * Базовый класс для всех тестов
+ * Базовый класс для всех тестов.
+ * Драйвер выдается {@link DriverExtension} отдельно для каждого потока выполнения,
+ * финальный скриншот снимается согласно {@code screenshot.policy}.
+ * При {@code site.target=local} страницы открываются с локального сервера {@link LocalSiteExtension}.
+ * После {@code test.failfast.threshold} падений оставшиеся тесты пропускаются {@link FailFastCondition},
+ * упавший тест повторяется на новом драйвере до {@code test.retry.count} раз {@link RetryExtension}
  */
-@ExtendWith(TestListener.class)
+@ExtendWith({FailFastCondition.class, TestListener.class, LocalSiteExtension.class, DriverExtension.class,
+        RetryExtension.class})
+@ResourceLock(value = DriverExtension.BROWSER_RESOURCE, mode = ResourceAccessMode.READ)
 public abstract class BaseTest {
     protected WebDriver driver;
     protected final Logger logger = LoggerFactory.getLogger(getClass());
@@ -26,28 +31,22 @@ public abstract class BaseTest {
     @BeforeEach
     public void setUp(TestInfo testInfo) {
         logger.info("Запуск теста: {}", testInfo.getDisplayName());
-        driver = BrowserFactory.createDriver();
+        driver = DriverManager.getDriver();
     }
     
     @AfterEach
     public void tearDown(TestInfo testInfo) {
-        if (driver != null) {
-            logger.info("Завершение теста: {}", testInfo.getDisplayName());
-            takeScreenshot("Финальный скриншот");
-            driver.quit();
-        }
+        logger.info("Завершение теста: {}", testInfo.getDisplayName());
     }
     
     /**
-     * Сделать скриншот и прикрепить к отчету Allure
+     * Сделать скриншот и прикрепить к отчету Allure.
+     * Перекодирование и запись вложения выполняются в фоне {@link ScreenshotPipeline}
      * @param name название скриншота
      */
-    @Attachment(value = "{name}", type = "image/png")
-    public byte[] takeScreenshot(String name) {
+    public void takeScreenshot(String name) {
         logger.debug("Создание скриншота: {}", name);
-        byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-        Allure.addAttachment(name, new ByteArrayInputStream(screenshot));
-        return screenshot;
+        ScreenshotPipeline.getInstance().capture(driver, name);
     }
     
     /**
@@ -0,0 +1,114 @@
+package com.practice.ui.core;
+
+import com.practice.ui.utils.LocatorRegistry;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * Декоратор полей PageFactory, который находит элементы через {@link ElementCache}.
+ * Прокси элемента обращается к кэшу при каждом вызове и при устаревшей ссылке
+ * один раз повторяет вызов на заново найденном элементе.
+ * Локаторы полей регистрируются в {@link LocatorRegistry} и совпадают с константами {@link By} страниц
+ */
+public class CachingFieldDecorator extends DefaultFieldDecorator {
+    private final ElementCache cache;
+
+    public CachingFieldDecorator(SearchContext context, ElementCache cache) {
+        super(field -> new CachingElementLocator(context, cache,
+                LocatorRegistry.intern(new Annotations(field).buildBy())));
+        this.cache = cache;
+    }
+
+    @Override
+    protected WebElement proxyForLocator(ClassLoader loader, ElementLocator locator) {
+        InvocationHandler handler = new StaleRetryHandler(cache, (CachingElementLocator) locator);
+        return (WebElement) Proxy.newProxyInstance(loader,
+                new Class<?>[]{WebElement.class, WrapsElement.class, Locatable.class}, handler);
+    }
+
+    /**
+     * Локатор PageFactory, который ищет одиночные элементы через кэш
+     */
+    static final class CachingElementLocator implements ElementLocator {
+        private final SearchContext context;
+        private final ElementCache cache;
+        private final By by;
+
+        CachingElementLocator(SearchContext context, ElementCache cache, By by) {
+            this.context = context;
+            this.cache = cache;
+            this.by = by;
+        }
+
+        @Override
+        public WebElement findElement() {
+            return cache.find(by);
+        }
+
+        @Override
+        public List<WebElement> findElements() {
+            return context.findElements(by);
+        }
+
+        By getBy() {
+            return by;
+        }
+
+        @Override
+        public String toString() {
+            return "Cached locator: " + by;
+        }
+    }
+
+    private static final class StaleRetryHandler implements InvocationHandler {
+        private final ElementCache cache;
+        private final CachingElementLocator locator;
+
+        private StaleRetryHandler(ElementCache cache, CachingElementLocator locator) {
+            this.cache = cache;
+            this.locator = locator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            WebElement element;
+            try {
+                element = locator.findElement();
+            } catch (NoSuchElementException e) {
+                if ("toString".equals(method.getName())) {
+                    return "Proxy element for: " + locator;
+                }
+                throw e;
+            }
+            if ("getWrappedElement".equals(method.getName())) {
+                return element;
+            }
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                    throw e.getCause();
+                }
+            }
+            try {
+                return method.invoke(cache.refresh(locator.getBy()), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.practice.ui.core;
+
+import com.practice.ui.config.BrowserConfig;
+import com.practice.ui.config.ConfigFactory;
+import com.practice.ui.factory.BrowserContextPool;
+import com.practice.ui.factory.BrowserFactory;
+import com.practice.ui.factory.DriverPool;
+import com.practice.ui.factory.DriverPrewarmer;
+import com.practice.ui.factory.NetworkBlocker;
+import com.practice.ui.factory.RemoteHttpClients;
+import com.practice.ui.telemetry.DriverTelemetry;
+import com.practice.ui.utils.ElementUtils;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Расширение JUnit, управляющее жизненным циклом драйвера в потоке, выполняющем тест.
+ * Драйвер создается (берется из контекстов общего браузера, из пула или из прогретых) перед каждым тестом и освобождается после него.
+ * При включенной телеметрии или {@code element.actions.mode=cdp} тест получает обертку драйвера,
+ * а пулу возвращается исходный экземпляр.
+ * Перед повтором упавшего теста {@link RetryExtension} заменяет драйвер новым через {@link #renewDriver(ExtensionContext)}.
+ * <p>
+ * Все наследники {@link BaseTest} держат общий ресурс {@link #BROWSER_RESOURCE} в режиме чтения,
+ * поэтому при параллельном запуске выполняются одновременно. Тест, которому нужен браузер
+ * без соседей, помечается {@code @ResourceLock(DriverExtension.BROWSER_RESOURCE)}
+ */
+public class DriverExtension implements BeforeEachCallback, AfterEachCallback {
+    public static final String BROWSER_RESOURCE = "practice.ui.browser";
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverExtension.class);
+    private static final BrowserConfig config = ConfigFactory.getBrowserConfig();
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(DriverExtension.class);
+    private static final String ORIGINAL_DRIVER = "originalDriver";
+    private static final String FRESH_DRIVER = "freshDriver";
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        logger.debug("Получение драйвера для теста: {}", context.getDisplayName());
+        WebDriver driver = acquire();
+        context.getStore(NAMESPACE).put(ORIGINAL_DRIVER, driver);
+        // запросы, заблокированные до начала теста (сброс сессии пула, прогрев), в сводку теста не попадают
+        NetworkBlocker.drainStats(driver);
+        if (config.isRemote()) {
+            RemoteHttpClients.getInstance().drainMetrics(driver);
+        }
+        driver = ElementUtils.trackContextSwitches(driver);
+        if (DriverTelemetry.isEnabled()) {
+            DriverTelemetry.getInstance().startTest();
+            driver = DriverTelemetry.getInstance().instrument(driver);
+        }
+        DriverManager.setDriver(driver);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        if (!DriverManager.hasDriver()) {
+            return;
+        }
+        WebDriver driver = DriverManager.getDriver();
+        DriverManager.removeDriver();
+        WebDriver original = context.getStore(NAMESPACE).remove(ORIGINAL_DRIVER, WebDriver.class);
+        boolean fresh = context.getStore(NAMESPACE).remove(FRESH_DRIVER) != null;
+        try {
+            captureScreenshot(driver, context.getExecutionException().isPresent());
+            attachTelemetry();
+            attachBlockedRequests(original != null ? original : driver);
+            attachRemoteMetrics(original != null ? original : driver);
+        } finally {
+            logger.debug("Освобождение драйвера после теста: {}", context.getDisplayName());
+            if (fresh) {
+                quitQuietly(original != null ? original : driver);
+            } else {
+                release(original != null ? original : driver);
+            }
+        }
+    }
+
+    /**
+     * Заменить драйвер текущего теста новым драйвером из {@link BrowserFactory}.
+     * Прежний драйвер в пул не возвращается: после падения его состояние неизвестно
+     * @param context контекст выполняемого теста
+     * @return новый драйвер, уже назначенный текущему потоку
+     */
+    static WebDriver renewDriver(ExtensionContext context) {
+        ExtensionContext.Store store = context.getStore(NAMESPACE);
+        WebDriver previous = store.remove(ORIGINAL_DRIVER, WebDriver.class);
+        boolean fresh = store.remove(FRESH_DRIVER) != null;
+        DriverManager.removeDriver();
+        if (previous != null) {
+            if (fresh) {
+                quitQuietly(previous);
+            } else {
+                discard(previous);
+            }
+        }
+        WebDriver driver = BrowserFactory.createDriver();
+        store.put(ORIGINAL_DRIVER, driver);
+        store.put(FRESH_DRIVER, Boolean.TRUE);
+        driver = ElementUtils.trackContextSwitches(driver);
+        if (DriverTelemetry.isEnabled()) {
+            driver = DriverTelemetry.getInstance().instrument(driver);
+        }
+        DriverManager.setDriver(driver);
+        return driver;
+    }
+
+    private void attachTelemetry() {
+        if (!DriverTelemetry.isEnabled()) {
+            return;
+        }
+        String summary = DriverTelemetry.getInstance().finishTest();
+        if (summary != null) {
+            Allure.addAttachment("Телеметрия WebDriver", "application/json", summary, ".json");
+        }
+    }
+
+    private void captureScreenshot(WebDriver driver, boolean failed) {
+        if (!ScreenshotPipeline.policy().shouldCapture(failed)) {
+            return;
+        }
+        try {
+            ScreenshotPipeline.getInstance().capture(driver, "Финальный скриншот");
+        } catch (RuntimeException e) {
+            logger.warn("Не удалось снять финальный скриншот: {}", e.getMessage());
+        }
+    }
+
+    private void attachRemoteMetrics(WebDriver driver) {
+        if (!config.isRemote()) {
+            return;
+        }
+        RemoteHttpClients.getInstance().drainMetrics(driver).ifPresent(summary ->
+                Allure.addAttachment("HTTP-запросы к Selenium Grid", "application/json", summary, ".json"));
+    }
+
+    private void attachBlockedRequests(WebDriver driver) {
+        Map<String, Integer> blocked = NetworkBlocker.drainStats(driver);
+        if (blocked.isEmpty()) {
+            return;
+        }
+        int total = blocked.values().stream().mapToInt(Integer::intValue).sum();
+        logger.debug("Заблокировано запросов: {} {}", total, blocked);
+        Allure.addAttachment("Заблокированные запросы", "text/plain", "Всего: " + total + System.lineSeparator()
+                + blocked.entrySet().stream()
+                .map(entry -> entry.getKey() + ": " + entry.getValue())
+                .collect(Collectors.joining(System.lineSeparator())));
+    }
+
+    private static void discard(WebDriver driver) {
+        if (BrowserContextPool.isSupported()) {
+            BrowserContextPool.getInstance().release(driver);
+        } else if (config.isPoolEnabled()) {
+            DriverPool.getInstance().invalidate(driver);
+        } else if (config.isPrewarmEnabled()) {
+            DriverPrewarmer.getInstance().retire(driver);
+        } else {
+            quitQuietly(driver);
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            logger.debug("Не удалось закрыть драйвер: {}", e.getMessage());
+        }
+    }
+
+    private WebDriver acquire() {
+        if (BrowserContextPool.isSupported()) {
+            return BrowserContextPool.getInstance().borrow();
+        }
+        if (config.isPoolEnabled()) {
+            return DriverPool.getInstance().borrow();
+        }
+        if (config.isPrewarmEnabled()) {
+            return DriverPrewarmer.getInstance().take();
+        }
+        return BrowserFactory.createDriver();
+    }
+
+    private void release(WebDriver driver) {
+        if (BrowserContextPool.isSupported()) {
+            BrowserContextPool.getInstance().release(driver);
+        } else if (config.isPoolEnabled()) {
+            DriverPool.getInstance().release(driver);
+        } else if (config.isPrewarmEnabled()) {
+            DriverPrewarmer.getInstance().retire(driver);
+        } else {
+            driver.quit();
+        }
+    }
+}
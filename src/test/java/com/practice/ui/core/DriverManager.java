@@ -0,0 +1,42 @@
+package com.practice.ui.core;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Хранилище драйвера текущего потока выполнения тестов
+ */
+public class DriverManager {
+    private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
+
+    private DriverManager() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Получить драйвер текущего потока
+     * @return экземпляр WebDriver
+     */
+    public static WebDriver getDriver() {
+        WebDriver driver = DRIVER.get();
+        if (driver == null) {
+            throw new IllegalStateException("Driver is not initialized for thread " + Thread.currentThread().getName());
+        }
+        return driver;
+    }
+
+    /**
+     * Проверить, назначен ли драйвер текущему потоку
+     * @return true, если драйвер назначен
+     */
+    public static boolean hasDriver() {
+        return DRIVER.get() != null;
+    }
+
+    static void setDriver(WebDriver driver) {
+        DRIVER.set(driver);
+    }
+
+    static void removeDriver() {
+        DRIVER.remove();
+    }
+}
@@ -0,0 +1,109 @@
+package com.practice.ui.core;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Кэш найденных элементов страницы по локатору.
+ * Повторный поиск выполняется только после {@link StaleElementReferenceException}
+ * или после перехода на другую страницу ({@link #clear()})
+ */
+public class ElementCache {
+    private static final Logger logger = LoggerFactory.getLogger(ElementCache.class);
+
+    private final SearchContext context;
+    private final Map<By, WebElement> elements = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong staleResolves = new AtomicLong();
+
+    public ElementCache(SearchContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Найти элемент, используя ранее найденную ссылку, если она есть
+     * @param locator локатор элемента
+     * @return элемент
+     */
+    public WebElement find(By locator) {
+        WebElement cached = elements.get(locator);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        WebElement element = context.findElement(locator);
+        elements.put(locator, element);
+        return element;
+    }
+
+    /**
+     * Выполнить действие над элементом; если ссылка устарела, элемент ищется заново
+     * и действие повторяется один раз
+     * @param locator локатор элемента
+     * @param action действие над элементом
+     * @param <T> тип результата
+     * @return результат действия
+     */
+    public <T> T with(By locator, Function<WebElement, T> action) {
+        try {
+            return action.apply(find(locator));
+        } catch (StaleElementReferenceException e) {
+            return action.apply(refresh(locator));
+        }
+    }
+
+    /**
+     * Заново найти элемент, ссылка на который устарела
+     * @param locator локатор элемента
+     * @return свежий элемент
+     */
+    public WebElement refresh(By locator) {
+        staleResolves.incrementAndGet();
+        logger.debug("Элемент устарел, повторный поиск: {}", locator);
+        elements.remove(locator);
+        return find(locator);
+    }
+
+    /**
+     * Забыть элемент
+     * @param locator локатор элемента
+     */
+    public void invalidate(By locator) {
+        elements.remove(locator);
+    }
+
+    /**
+     * Забыть все элементы, например после перехода на другую страницу
+     */
+    public void clear() {
+        elements.clear();
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public long staleResolves() {
+        return staleResolves.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ElementCache{hits=" + hits + ", misses=" + misses + ", staleResolves=" + staleResolves + "}";
+    }
+}
@@ -0,0 +1,29 @@
+package com.practice.ui.core;
+
+/**
+ * Способ заполнения полей формы
+ */
+public enum FillMode {
+    /**
+     * Все поля заполняются одним скриптом с генерацией событий input/change
+     */
+    SCRIPT,
+    /**
+     * Каждое поле заполняется отдельно настоящими нажатиями клавиш и кликами
+     */
+    NATIVE;
+
+    /**
+     * Получить способ заполнения из строки
+     * @param name название способа
+     * @return способ заполнения
+     */
+    public static FillMode fromString(String name) {
+        for (FillMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(name)) {
+                return mode;
+            }
+        }
+        return SCRIPT;
+    }
+}
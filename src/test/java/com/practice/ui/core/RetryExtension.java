@@ -0,0 +1,179 @@
+package com.practice.ui.core;
+
+import com.practice.ui.config.ConfigFactory;
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.StatusDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.opentest4j.TestAbortedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Повтор упавшего теста в той же JVM.
+ * Упавший тест выполняется заново до {@code test.retry.count} раз, каждый раз на новом драйвере
+ * из {@link com.practice.ui.factory.BrowserFactory}. Каждая попытка проходит полный цикл метода теста:
+ * методы {@code @AfterEach} упавшей попытки, замена драйвера, методы {@code @BeforeEach} и сам тест,
+ * поэтому page object и открытые в {@code @BeforeEach} страницы создаются заново на новом драйвере.
+ * Методы {@code @AfterEach} последней попытки вызывает JUnit.
+ * Тест, прошедший после повтора, помечается в Allure как flaky, а время упавших попыток
+ * прикладывается к результату как «Повторы теста». Прерванные тесты и ошибки JVM не повторяются
+ */
+public class RetryExtension implements InvocationInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(RetryExtension.class);
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(RetryExtension.class);
+    private static final String RETRIES_KEY = "retries";
+
+    /**
+     * Получить количество повторов теста
+     * @param context контекст теста
+     * @return количество выполненных повторов, 0 если тест не повторялся
+     */
+    public static int retries(ExtensionContext context) {
+        Integer retries = context.getStore(NAMESPACE).get(RETRIES_KEY, Integer.class);
+        return retries == null ? 0 : retries;
+    }
+
+    @Override
+    public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+                                    ExtensionContext extensionContext) throws Throwable {
+        int maxRetries = ConfigFactory.getBrowserConfig().testRetryCount();
+        if (maxRetries <= 0) {
+            invocation.proceed();
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Throwable failure;
+        try {
+            invocation.proceed();
+            return;
+        } catch (Throwable e) {
+            failure = e;
+        }
+
+        StringBuilder report = new StringBuilder();
+        long attemptStart = start;
+        for (int retry = 1; retry <= maxRetries && isRetryable(failure); retry++) {
+            appendAttempt(report, retry, attemptStart, failure);
+            logger.warn("Повтор {} из {} теста {} после падения: {}", retry, maxRetries,
+                    extensionContext.getDisplayName(), failure.toString());
+            extensionContext.getStore(NAMESPACE).put(RETRIES_KEY, retry);
+            attemptStart = System.currentTimeMillis();
+            try {
+                Object testInstance = invocationContext.getTarget().orElseThrow();
+                tearDownFailedAttempt(extensionContext, testInstance);
+                ((BaseTest) testInstance).driver = DriverExtension.renewDriver(extensionContext);
+                runLifecycle(extensionContext, testInstance, BeforeEach.class, HierarchyTraversalMode.TOP_DOWN);
+                invoke(invocationContext);
+                long cost = attemptStart - start;
+                report.append("Попытка ").append(retry + 1).append(": прошла за ")
+                        .append(System.currentTimeMillis() - attemptStart).append(" мс").append(System.lineSeparator())
+                        .append("Затраты на повторы: ").append(cost).append(" мс");
+                logger.warn("Тест {} прошел с попытки {}, затраты на повторы {} мс",
+                        extensionContext.getDisplayName(), retry + 1, cost);
+                markFlaky();
+                Allure.addAttachment("Повторы теста", "text/plain", report.toString());
+                return;
+            } catch (Throwable e) {
+                failure = e;
+            }
+        }
+        if (report.length() > 0) {
+            appendAttempt(report, retries(extensionContext) + 1, attemptStart, failure);
+            report.append("Затраты на повторы: ").append(System.currentTimeMillis() - start).append(" мс");
+            Allure.addAttachment("Повторы теста", "text/plain", report.toString());
+        }
+        throw failure;
+    }
+
+    private static boolean isRetryable(Throwable failure) {
+        return !(failure instanceof TestAbortedException)
+                && (failure instanceof Exception || failure instanceof AssertionError);
+    }
+
+    private static void tearDownFailedAttempt(ExtensionContext context, Object testInstance) {
+        try {
+            runLifecycle(context, testInstance, AfterEach.class, HierarchyTraversalMode.BOTTOM_UP);
+        } catch (RuntimeException | AssertionError e) {
+            // ошибка очистки упавшей попытки не мешает повтору: следующая попытка начинается на новом драйвере
+            logger.warn("Ошибка @AfterEach упавшей попытки теста {}: {}", context.getDisplayName(), e.toString());
+        }
+    }
+
+    /**
+     * Вызвать методы жизненного цикла в порядке JUnit: {@code @BeforeEach} от суперкласса к наследнику,
+     * {@code @AfterEach} в обратном порядке. Параметры методов разрешаются зарегистрированными расширениями
+     */
+    private static void runLifecycle(ExtensionContext context, Object testInstance,
+                                     Class<? extends Annotation> annotation, HierarchyTraversalMode order) {
+        for (Method method : AnnotationSupport.findAnnotatedMethods(testInstance.getClass(), annotation, order)) {
+            if (Arrays.stream(method.getParameterTypes()).allMatch(TestInfo.class::equals)) {
+                // TestInfo от ExecutableInvoker описывает класс, а не метод теста
+                Object[] arguments = new Object[method.getParameterCount()];
+                Arrays.fill(arguments, testInfo(context));
+                ReflectionSupport.invokeMethod(method, testInstance, arguments);
+            } else {
+                context.getExecutableInvoker().invoke(method, testInstance);
+            }
+        }
+    }
+
+    private static TestInfo testInfo(ExtensionContext context) {
+        return new TestInfo() {
+            @Override
+            public String getDisplayName() {
+                return context.getDisplayName();
+            }
+
+            @Override
+            public Set<String> getTags() {
+                return context.getTags();
+            }
+
+            @Override
+            public Optional<Class<?>> getTestClass() {
+                return context.getTestClass();
+            }
+
+            @Override
+            public Optional<Method> getTestMethod() {
+                return context.getTestMethod();
+            }
+        };
+    }
+
+    private static void invoke(ReflectiveInvocationContext<Method> invocationContext) throws Throwable {
+        Method method = invocationContext.getExecutable();
+        method.setAccessible(true);
+        try {
+            method.invoke(invocationContext.getTarget().orElse(null), invocationContext.getArguments().toArray());
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void appendAttempt(StringBuilder report, int attempt, long attemptStart, Throwable failure) {
+        report.append("Попытка ").append(attempt).append(": упала за ")
+                .append(System.currentTimeMillis() - attemptStart).append(" мс: ")
+                .append(failure).append(System.lineSeparator());
+    }
+
+    private static void markFlaky() {
+        Allure.getLifecycle().updateTestCase(result -> result.setStatusDetails(
+                Optional.ofNullable(result.getStatusDetails()).orElseGet(StatusDetails::new).setFlaky(true)));
+    }
+}
@@ -0,0 +1,161 @@
+package com.practice.ui.core;
+
+import com.practice.ui.config.BrowserConfig;
+import com.practice.ui.config.ConfigFactory;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Конвейер скриншотов для отчета Allure.
+ * Синхронно выполняется только снятие скриншота и резервирование вложения в текущем тесте;
+ * уменьшение, перекодирование в JPEG и запись файла вложения идут в ограниченном фоновом пуле.
+ * При переполнении очереди кодирование выполняется в потоке теста, чтобы не копить скриншоты в памяти
+ */
+public class ScreenshotPipeline {
+    private static final Logger logger = LoggerFactory.getLogger(ScreenshotPipeline.class);
+    private static final BrowserConfig config = ConfigFactory.getBrowserConfig();
+    private static final ScreenshotPipeline INSTANCE = new ScreenshotPipeline();
+    private static final float MIN_QUALITY = 0.3f;
+
+    private final ThreadPoolExecutor executor;
+
+    private ScreenshotPipeline() {
+        int threads = Math.max(1, config.screenshotThreads());
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.screenshotQueueSize())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "screenshot-encoder");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "screenshot-pipeline-shutdown"));
+    }
+
+    /**
+     * Получить общий конвейер скриншотов
+     * @return конвейер скриншотов
+     */
+    public static ScreenshotPipeline getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Получить политику финальных скриншотов из конфигурации
+     * @return политика скриншотов
+     */
+    public static ScreenshotPolicy policy() {
+        return ScreenshotPolicy.fromString(config.screenshotPolicy());
+    }
+
+    /**
+     * Снять скриншот и прикрепить его к текущему тесту или шагу Allure.
+     * Должен вызываться в потоке теста, так как вложение привязывается к его контексту Allure
+     * @param driver драйвер браузера
+     * @param name название вложения
+     */
+    public void capture(WebDriver driver, String name) {
+        byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        boolean jpeg = "jpeg".equalsIgnoreCase(config.screenshotFormat());
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String source = jpeg
+                ? lifecycle.prepareAttachment(name, "image/jpeg", ".jpg")
+                : lifecycle.prepareAttachment(name, "image/png", ".png");
+        executor.execute(() -> write(lifecycle, source, png, jpeg));
+    }
+
+    /**
+     * Дождаться записи всех скриншотов и остановить фоновый пул
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+                logger.warn("Не все скриншоты записаны в отчет");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(AllureLifecycle lifecycle, String source, byte[] png, boolean jpeg) {
+        byte[] content = png;
+        if (jpeg) {
+            try {
+                content = encode(png);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Не удалось перекодировать скриншот {}, сохраняем как есть: {}", source, e.getMessage());
+            }
+        }
+        lifecycle.writeAttachment(source, new ByteArrayInputStream(content));
+    }
+
+    private byte[] encode(byte[] png) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            return png;
+        }
+        BufferedImage scaled = toRgb(image, config.screenshotMaxWidth());
+        float quality = config.screenshotQuality();
+        byte[] encoded = writeJpeg(scaled, quality);
+        // уменьшаем качество, пока не уложимся в лимит размера
+        while (encoded.length > config.screenshotMaxBytes() && quality > MIN_QUALITY) {
+            quality = Math.max(MIN_QUALITY, quality - 0.15f);
+            encoded = writeJpeg(scaled, quality);
+        }
+        return encoded;
+    }
+
+    private BufferedImage toRgb(BufferedImage image, int maxWidth) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (maxWidth > 0 && width > maxWidth) {
+            height = Math.max(1, height * maxWidth / width);
+            width = maxWidth;
+        }
+        BufferedImage rgb = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+
+    private byte[] writeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(Math.min(1f, Math.max(MIN_QUALITY, quality)));
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
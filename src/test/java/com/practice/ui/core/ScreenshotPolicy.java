@@ -0,0 +1,33 @@
+package com.practice.ui.core;
+
+/**
+ * Политика снятия финального скриншота после теста
+ */
+public enum ScreenshotPolicy {
+    ALWAYS,
+    ON_FAILURE,
+    NEVER;
+
+    /**
+     * Получить политику из строки
+     * @param name название политики
+     * @return политика скриншотов
+     */
+    public static ScreenshotPolicy fromString(String name) {
+        for (ScreenshotPolicy policy : values()) {
+            if (policy.name().equalsIgnoreCase(name)) {
+                return policy;
+            }
+        }
+        return ON_FAILURE;
+    }
+
+    /**
+     * Нужно ли снимать скриншот для теста с указанным исходом
+     * @param failed упал ли тест
+     * @return true, если скриншот нужен
+     */
+    public boolean shouldCapture(boolean failed) {
+        return this == ALWAYS || (this == ON_FAILURE && failed);
+    }
+}
@@ -0,0 +1,64 @@
+package com.practice.ui.core;
+
+import com.practice.ui.config.BrowserConfig;
+import com.practice.ui.config.ConfigFactory;
+import io.qameta.allure.listener.TestLifecycleListener;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Слушатель Allure, который перед записью результата теста сворачивает вложенные шаги
+ * согласно {@link StepRecordingMode}. Шаги глубже {@code allure.steps.depth} удаляются,
+ * а их вложения переносятся в ближайший сохраненный шаг.
+ * Регистрируется через {@code META-INF/services/io.qameta.allure.listener.LifecycleListener}
+ */
+public class StepRecordingListener implements TestLifecycleListener {
+    private final StepRecordingMode mode;
+    private final int maxDepth;
+
+    public StepRecordingListener() {
+        BrowserConfig config = ConfigFactory.getBrowserConfig();
+        this.mode = StepRecordingMode.fromString(config.allureStepsMode());
+        this.maxDepth = Math.max(1, config.allureStepsDepth());
+    }
+
+    @Override
+    public void beforeTestWrite(TestResult result) {
+        if (mode == StepRecordingMode.FULL) {
+            return;
+        }
+        if (mode == StepRecordingMode.ON_FAILURE && !isPassed(result)) {
+            return;
+        }
+        collapse(result.getSteps(), 1);
+    }
+
+    private void collapse(List<StepResult> steps, int depth) {
+        for (StepResult step : steps) {
+            if (depth >= maxDepth) {
+                List<Attachment> attachments = new ArrayList<>(step.getAttachments());
+                collectAttachments(step.getSteps(), attachments);
+                step.setAttachments(attachments);
+                step.setSteps(new ArrayList<>());
+            } else {
+                collapse(step.getSteps(), depth + 1);
+            }
+        }
+    }
+
+    private void collectAttachments(List<StepResult> steps, List<Attachment> target) {
+        for (StepResult step : steps) {
+            target.addAll(step.getAttachments());
+            collectAttachments(step.getSteps(), target);
+        }
+    }
+
+    private boolean isPassed(TestResult result) {
+        return result.getStatus() == Status.PASSED;
+    }
+}
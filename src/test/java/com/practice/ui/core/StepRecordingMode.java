@@ -0,0 +1,33 @@
+package com.practice.ui.core;
+
+/**
+ * Режим записи шагов Allure
+ */
+public enum StepRecordingMode {
+    /**
+     * Записываются все шаги, включая вложенные шаги утилит
+     */
+    FULL,
+    /**
+     * Записываются только шаги до глубины {@code allure.steps.depth}, обычно это шаги page object
+     */
+    PAGE,
+    /**
+     * Полное дерево шагов сохраняется только для упавших тестов, для успешных как в {@link #PAGE}
+     */
+    ON_FAILURE;
+
+    /**
+     * Получить режим из строки
+     * @param name название режима
+     * @return режим записи шагов
+     */
+    public static StepRecordingMode fromString(String name) {
+        for (StepRecordingMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(name)) {
+                return mode;
+            }
+        }
+        return FULL;
+    }
+}
@@ -1,38 +1,108 @@
 package com.practice.ui.core;
 
+import com.practice.ui.execution.FailFastCondition;
+import com.practice.ui.execution.TestHistory;
 import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.TestWatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Слушатель событий тестов для интеграции с Allure и логирования
+ * Слушатель событий тестов для интеграции с Allure и логирования.
+ * Длительность и результат каждого теста и тестового класса записываются в {@link TestHistory}
+ * для распределения по шардам и упорядочивания следующего прогона, падения учитываются в {@link FailFastCondition}.
+ * На время теста в MDC записывается {@code testId}; журнал теста копится в {@link TestLogAppender}
+ * и прикладывается к Allure только при падении. Тест, прошедший после повтора {@link RetryExtension},
+ * считается в истории упавшим, чтобы нестабильные тесты запускались раньше
  */
-public class TestListener implements TestWatcher {
+public class TestListener implements TestWatcher, BeforeAllCallback, AfterAllCallback,
+        BeforeEachCallback, AfterEachCallback {
     private static final Logger logger = LoggerFactory.getLogger(TestListener.class);
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(TestListener.class);
+    private static final String CLASS_START_KEY = "classStart";
+    private static final String TEST_START_KEY = "testStart";
+    private static final String TEST_ID_KEY = "testId";
+    private static final AtomicLong testSequence = new AtomicLong();
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(CLASS_START_KEY, System.currentTimeMillis());
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        Long start = context.getStore(NAMESPACE).remove(CLASS_START_KEY, Long.class);
+        if (start != null) {
+            context.getTestClass().ifPresent(testClass ->
+                    TestHistory.getInstance().recordDuration(testClass.getName(), System.currentTimeMillis() - start));
+        }
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(TEST_START_KEY, System.currentTimeMillis());
+        // имя теста не уникально для параметризованных тестов, поэтому добавляется порядковый номер
+        String testId = getTestName(context) + "-" + testSequence.incrementAndGet();
+        context.getStore(NAMESPACE).put(TEST_ID_KEY, testId);
+        TestLogAppender.open(testId);
+        MDC.put(TestLogAppender.TEST_ID_KEY, testId);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        MDC.remove(TestLogAppender.TEST_ID_KEY);
+        Long start = context.getStore(NAMESPACE).remove(TEST_START_KEY, Long.class);
+        if (start != null) {
+            getHistoryKey(context).ifPresent(key ->
+                    TestHistory.getInstance().recordDuration(key, System.currentTimeMillis() - start));
+        }
+    }
 
     @Override
     public void testSuccessful(ExtensionContext context) {
+        int retries = RetryExtension.retries(context);
+        recordOutcome(context, retries > 0);
         String testName = getTestName(context);
-        logger.info("Тест успешно пройден: {}", testName);
+        if (retries > 0) {
+            logger.warn("Тест пройден после повторов ({}): {}", retries, testName);
+        } else {
+            logger.info("Тест успешно пройден: {}", testName);
+        }
+        discardLog(context);
         Allure.addAttachment("Test Status", "text/plain", "PASSED");
     }
 
     @Override
     public void testFailed(ExtensionContext context, Throwable cause) {
+        recordOutcome(context, true);
+        FailFastCondition.recordFailure();
         String testName = getTestName(context);
         logger.error("Тест не пройден: {}", testName, cause);
         Allure.addAttachment("Test Status", "text/plain", "FAILED");
         Allure.addAttachment("Exception", "text/plain", cause.getMessage());
+        String testId = context.getStore(NAMESPACE).remove(TEST_ID_KEY, String.class);
+        if (testId != null) {
+            String log = TestLogAppender.drain(testId);
+            if (!log.isEmpty()) {
+                Allure.addAttachment("Журнал теста", "text/plain", log, ".log");
+            }
+        }
     }
 
     @Override
     public void testAborted(ExtensionContext context, Throwable cause) {
         String testName = getTestName(context);
         logger.warn("Тест прерван: {}", testName, cause);
+        discardLog(context);
         Allure.addAttachment("Test Status", "text/plain", "ABORTED");
     }
 
@@ -44,6 +114,24 @@ public class TestListener implements TestWatcher {
         reason.ifPresent(r -> Allure.addAttachment("Reason", "text/plain", r));
     }
 
+    private void discardLog(ExtensionContext context) {
+        String testId = context.getStore(NAMESPACE).remove(TEST_ID_KEY, String.class);
+        if (testId != null) {
+            TestLogAppender.discard(testId);
+        }
+    }
+
+    private void recordOutcome(ExtensionContext context, boolean failed) {
+        TestHistory history = TestHistory.getInstance();
+        getHistoryKey(context).ifPresent(key -> history.recordOutcome(key, failed));
+        context.getTestClass().ifPresent(testClass -> history.recordOutcome(testClass.getName(), failed));
+    }
+
+    private Optional<String> getHistoryKey(ExtensionContext context) {
+        return context.getTestMethod()
+                .map(method -> TestHistory.methodKey(method.getDeclaringClass().getName(), method.getName()));
+    }
+
     private String getTestName(ExtensionContext context) {
         return context.getTestMethod()
                 .map(method -> method.getDeclaringClass().getSimpleName() + "." + method.getName())
@@ -0,0 +1,114 @@
+package com.practice.ui.core;
+
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Appender logback, который накапливает в памяти журнал каждого теста отдельно.
+ * Событие попадает в буфер теста по значению {@code testId} из MDC, события без {@code testId}
+ * (фоновые потоки, код вне теста) пропускаются. Буфер ограничен {@code maxEvents} событиями,
+ * при переполнении вытесняются самые старые. Форматирование выполняется только в {@link #drain(String)},
+ * поэтому на потоке теста остается лишь добавление события в очередь. Общей блокировки appender нет:
+ * потоки тестов синхронизируются только на собственном буфере.
+ * <p>
+ * Подключается в {@code logback.xml}; буфер открывает и закрывает {@link TestListener}
+ */
+public class TestLogAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+    /**
+     * Ключ MDC с идентификатором выполняемого теста
+     */
+    public static final String TEST_ID_KEY = "testId";
+
+    private static final Map<String, Deque<ILoggingEvent>> buffers = new ConcurrentHashMap<>();
+    private static volatile TestLogAppender active;
+
+    private final PatternLayout layout = new PatternLayout();
+    private String pattern = "%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n";
+    private int maxEvents = 2000;
+
+    /**
+     * Начать накопление журнала теста
+     * @param testId идентификатор теста, который записывается в MDC под ключом {@link #TEST_ID_KEY}
+     */
+    public static void open(String testId) {
+        buffers.put(testId, new ArrayDeque<>());
+    }
+
+    /**
+     * Забрать накопленный журнал теста и закрыть буфер
+     * @param testId идентификатор теста
+     * @return отформатированный журнал или пустая строка, если журнал не накапливался
+     */
+    public static String drain(String testId) {
+        Deque<ILoggingEvent> buffer = buffers.remove(testId);
+        TestLogAppender appender = active;
+        if (buffer == null || appender == null) {
+            return "";
+        }
+        List<ILoggingEvent> events;
+        synchronized (buffer) {
+            events = List.copyOf(buffer);
+        }
+        StringBuilder log = new StringBuilder();
+        events.forEach(event -> log.append(appender.layout.doLayout(event)));
+        return log.toString();
+    }
+
+    /**
+     * Закрыть буфер теста без форматирования журнала
+     * @param testId идентификатор теста
+     */
+    public static void discard(String testId) {
+        buffers.remove(testId);
+    }
+
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    public void setMaxEvents(int maxEvents) {
+        this.maxEvents = Math.max(1, maxEvents);
+    }
+
+    @Override
+    public void start() {
+        layout.setContext(getContext());
+        layout.setPattern(pattern);
+        layout.start();
+        super.start();
+        active = this;
+    }
+
+    @Override
+    public void stop() {
+        if (active == this) {
+            active = null;
+        }
+        layout.stop();
+        super.stop();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        String testId = event.getMDCPropertyMap().get(TEST_ID_KEY);
+        Deque<ILoggingEvent> buffer = testId == null ? null : buffers.get(testId);
+        if (buffer == null) {
+            return;
+        }
+        // параметры сообщения фиксируются сейчас, объекты могут измениться до форматирования
+        event.prepareForDeferredProcessing();
+        synchronized (buffer) {
+            if (buffer.size() >= maxEvents) {
+                buffer.pollFirst();
+            }
+            buffer.addLast(event);
+        }
+    }
+}
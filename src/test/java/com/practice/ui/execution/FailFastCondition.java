@@ -0,0 +1,42 @@
+package com.practice.ui.execution;
+
+import com.practice.ui.config.ConfigFactory;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Остановка прогона после {@code test.failfast.threshold} упавших тестов.
+ * Оставшиеся тесты не запускаются и отмечаются как отключенные с указанием причины.
+ * Счетчик падений общий для JVM, поэтому при нескольких форках surefire порог действует в каждом форке отдельно.
+ * Значение 0 отключает остановку
+ */
+public class FailFastCondition implements ExecutionCondition {
+    private static final Logger logger = LoggerFactory.getLogger(FailFastCondition.class);
+    private static final AtomicInteger failures = new AtomicInteger();
+
+    /**
+     * Учесть упавший тест
+     */
+    public static void recordFailure() {
+        int threshold = ConfigFactory.getBrowserConfig().failFastThreshold();
+        if (failures.incrementAndGet() == threshold) {
+            logger.warn("Fail-fast threshold of {} failed test(s) reached, skipping remaining tests", threshold);
+        }
+    }
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        int threshold = ConfigFactory.getBrowserConfig().failFastThreshold();
+        int failed = failures.get();
+        if (threshold > 0 && failed >= threshold) {
+            return ConditionEvaluationResult.disabled("Прогон остановлен: упало тестов " + failed
+                    + ", порог test.failfast.threshold=" + threshold);
+        }
+        return ConditionEvaluationResult.enabled("Порог падений не достигнут");
+    }
+}
@@ -0,0 +1,16 @@
+package com.practice.ui.execution;
+
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+
+/**
+ * Порядок тестовых классов по истории прогонов, см. {@link HistoryOrdering}.
+ * Подключается в {@code junit-platform.properties} через {@code junit.jupiter.testclass.order.default}
+ */
+public class HistoryClassOrderer implements ClassOrderer {
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        HistoryOrdering.sort(context.getClassDescriptors(), descriptor -> descriptor.getTestClass().getName());
+    }
+}
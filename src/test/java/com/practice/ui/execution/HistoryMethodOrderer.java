@@ -0,0 +1,28 @@
+package com.practice.ui.execution;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.Optional;
+
+/**
+ * Порядок тестовых методов внутри класса по истории прогонов, см. {@link HistoryOrdering}.
+ * Подключается в {@code junit-platform.properties} через {@code junit.jupiter.testmethod.order.default}
+ */
+public class HistoryMethodOrderer implements MethodOrderer {
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        HistoryOrdering.sort(context.getMethodDescriptors(), descriptor -> TestHistory.methodKey(
+                descriptor.getMethod().getDeclaringClass().getName(), descriptor.getMethod().getName()));
+    }
+
+    /**
+     * Порядок не должен отключать параллельное выполнение методов, настроенное в {@code junit-platform.properties}
+     */
+    @Override
+    public Optional<ExecutionMode> getDefaultExecutionMode() {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,34 @@
+package com.practice.ui.execution;
+
+import com.practice.ui.config.ConfigFactory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Порядок тестов по истории прогонов: сначала недавно падавшие, затем быстрые.
+ * Тесты без истории считаются быстрыми и выполняются раньше известных, чтобы новые тесты давали сигнал как можно раньше.
+ * При равенстве тесты сортируются по имени, поэтому порядок детерминирован
+ */
+final class HistoryOrdering {
+
+    private HistoryOrdering() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Отсортировать тесты, если упорядочивание по истории включено через {@code test.order.enabled}
+     * @param tests дескрипторы тестов JUnit
+     * @param keyOf ключ теста в {@link TestHistory}
+     */
+    static <T> void sort(List<T> tests, Function<T, String> keyOf) {
+        if (!ConfigFactory.getBrowserConfig().isTestOrderEnabled() || tests.size() < 2) {
+            return;
+        }
+        TestHistory history = TestHistory.getInstance();
+        tests.sort(Comparator.<T>comparingDouble(test -> -history.failureScore(keyOf.apply(test)))
+                .thenComparingLong(test -> history.duration(keyOf.apply(test)).orElse(0))
+                .thenComparing(keyOf));
+    }
+}
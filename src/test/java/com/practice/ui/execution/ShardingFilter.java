@@ -0,0 +1,212 @@
+package com.practice.ui.execution;
+
+import com.practice.ui.config.BrowserConfig;
+import com.practice.ui.config.ConfigFactory;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * Распределение тестовых классов по шардам с учетом их длительности.
+ * Шард задается свойствами {@code shard.total} и {@code shard.index} (с нуля); фильтр оставляет
+ * только классы текущего шарда. План строится по всем тестовым классам каталога, в котором лежат
+ * найденные тесты, жадным алгоритмом LPT: классы по убыванию длительности из {@link TestHistory}
+ * отдаются наименее загруженному шарду. План строится только по общей для всех машин истории
+ * ({@link TestHistory#sharedDurations()}); классы без нее распределяются по хешу имени с медианной длительностью.
+ * План детерминирован, поэтому каждая машина и каждый форк при одинаковой истории считают его одинаково;
+ * отпечаток плана выводится в журнал, чтобы CI мог сверить его между шардами.
+ * <p>
+ * Регистрируется через {@code META-INF/services/org.junit.platform.launcher.PostDiscoveryFilter}
+ */
+public class ShardingFilter implements PostDiscoveryFilter {
+    private static final Logger logger = LoggerFactory.getLogger(ShardingFilter.class);
+    private static final long DEFAULT_DURATION_MILLIS = 30_000;
+    private static final Map<Path, Map<String, Integer>> plans = new HashMap<>();
+
+    private final int total;
+    private final int index;
+
+    public ShardingFilter() {
+        BrowserConfig config = ConfigFactory.getBrowserConfig();
+        this.total = Math.max(1, config.shardTotal());
+        this.index = config.shardIndex();
+        if (total > 1 && (index < 0 || index >= total)) {
+            throw new IllegalArgumentException("shard.index must be in [0, " + (total - 1) + "], got " + index);
+        }
+    }
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (total <= 1) {
+            return FilterResult.included("sharding is disabled");
+        }
+        Optional<Class<?>> testClass = testClass(descriptor.getSource().orElse(null));
+        if (testClass.isEmpty()) {
+            return FilterResult.included("not a test class");
+        }
+        String className = topLevelName(testClass.get().getName());
+        int shard = shardOf(testClass.get(), className);
+        return shard == index
+                ? FilterResult.included("assigned to shard " + index)
+                : FilterResult.excluded("assigned to shard " + shard + " of " + total);
+    }
+
+    private int shardOf(Class<?> testClass, String className) {
+        Map<String, Integer> plan = codeSourceRoot(testClass).map(this::plan).orElse(Map.of());
+        Integer shard = plan.get(className);
+        // класс вне плана (другой корень classpath) распределяется по хешу имени
+        return shard != null ? shard : Math.floorMod(className.hashCode(), total);
+    }
+
+    private Map<String, Integer> plan(Path root) {
+        synchronized (plans) {
+            return plans.computeIfAbsent(root, this::buildPlan);
+        }
+    }
+
+    private Map<String, Integer> buildPlan(Path root) {
+        Set<String> classes = discoverClasses(root);
+        Map<String, Long> durations = TestHistory.getInstance().sharedDurations();
+        long fallback = median(classes.stream().map(durations::get).filter(duration -> duration != null)
+                .collect(Collectors.toList()));
+
+        long[] loads = new long[total];
+        int[] counts = new int[total];
+        Map<String, Integer> plan = new TreeMap<>();
+        // классы без общей истории размещаются по хешу имени: локальные данные машин не должны влиять на план
+        List<String> ordered = new ArrayList<>();
+        for (String className : classes) {
+            if (durations.containsKey(className)) {
+                ordered.add(className);
+            } else {
+                assign(plan, loads, counts, className, Math.floorMod(className.hashCode(), total), fallback);
+            }
+        }
+        ordered.sort(Comparator.comparingLong((String name) -> durations.get(name)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        for (String className : ordered) {
+            int lightest = 0;
+            for (int shard = 1; shard < total; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            assign(plan, loads, counts, className, lightest, durations.get(className));
+        }
+        long sum = 0;
+        for (long load : loads) {
+            sum += load;
+        }
+        logger.info("Shard {} of {}: {} of {} test class(es), estimated {} s of {} s",
+                index, total, counts[index], classes.size(), loads[index] / 1000, sum / 1000);
+        // отпечаток должен совпадать на всех машинах, иначе часть классов не попадет ни в один шард
+        logger.info("Shard plan fingerprint: {} ({} class(es) without shared history)",
+                fingerprint(plan), classes.size() - ordered.size());
+        return plan;
+    }
+
+    private static void assign(Map<String, Integer> plan, long[] loads, int[] counts, String className, int shard,
+                               long duration) {
+        plan.put(className, shard);
+        loads[shard] += duration;
+        counts[shard]++;
+    }
+
+    private static String fingerprint(Map<String, Integer> plan) {
+        CRC32 crc = new CRC32();
+        plan.forEach((className, shard) -> crc.update((className + "=" + shard + "\n").getBytes(StandardCharsets.UTF_8)));
+        return String.format("%08x", crc.getValue());
+    }
+
+    /**
+     * Найти все тестовые классы корня classpath отдельной загрузкой JUnit без фильтров после поиска
+     */
+    private static Set<String> discoverClasses(Path root) {
+        Launcher launcher = LauncherFactory.create(LauncherConfig.builder()
+                .enablePostDiscoveryFilterAutoRegistration(false)
+                .enableLauncherSessionListenerAutoRegistration(false)
+                .enableTestExecutionListenerAutoRegistration(false)
+                .build());
+        TestPlan testPlan = launcher.discover(LauncherDiscoveryRequestBuilder.request()
+                .selectors(DiscoverySelectors.selectClasspathRoots(Set.of(root)))
+                .build());
+        Set<String> classes = new TreeSet<>();
+        collect(testPlan, testPlan.getRoots(), classes);
+        return classes;
+    }
+
+    private static void collect(TestPlan testPlan, Set<TestIdentifier> identifiers, Set<String> classes) {
+        for (TestIdentifier identifier : identifiers) {
+            identifier.getSource()
+                    .filter(ClassSource.class::isInstance)
+                    .map(source -> topLevelName(((ClassSource) source).getClassName()))
+                    .ifPresent(classes::add);
+            collect(testPlan, testPlan.getChildren(identifier), classes);
+        }
+    }
+
+    private static Optional<Class<?>> testClass(TestSource source) {
+        if (source instanceof ClassSource) {
+            return Optional.of(((ClassSource) source).getJavaClass());
+        }
+        if (source instanceof MethodSource) {
+            return Optional.of(((MethodSource) source).getJavaClass());
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Path> codeSourceRoot(Class<?> testClass) {
+        CodeSource codeSource = testClass.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Paths.get(codeSource.getLocation().toURI()));
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String topLevelName(String className) {
+        int nested = className.indexOf('$');
+        return nested < 0 ? className : className.substring(0, nested);
+    }
+
+    private static long median(List<Long> values) {
+        if (values.isEmpty()) {
+            return DEFAULT_DURATION_MILLIS;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        sorted.sort(Comparator.naturalOrder());
+        return sorted.get(sorted.size() / 2);
+    }
+}
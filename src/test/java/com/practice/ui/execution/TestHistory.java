@@ -0,0 +1,306 @@
+package com.practice.ui.execution;
+
+import com.practice.ui.config.BrowserConfig;
+import com.practice.ui.config.ConfigFactory;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * История выполнения тестов: длительность и частота падений тестовых классов и методов по прошлым прогонам.
+ * Ключ класса — его полное имя, ключ метода — {@link #methodKey(String, String)}.
+ * Источники: файл истории {@code test.history.path}, который обновляется после каждого прогона,
+ * и результаты Allure прошлого прогона из {@code test.history.allure.dir} для тестов, которых нет в файле.
+ * Новое измерение сглаживается с предыдущим значением, чтобы один медленный или упавший прогон не ломал план,
+ * а давние падения постепенно забывались.
+ * Файл можно передавать между прогонами CI как артефакт: все машины должны читать одну и ту же историю.
+ * Локальные результаты Allure у разных машин различаются, поэтому для плана шардов ({@link #sharedDurations()})
+ * они учитываются, только если каталог общий для всех машин ({@code test.history.allure.shared=true})
+ */
+public class TestHistory {
+    private static final Logger logger = LoggerFactory.getLogger(TestHistory.class);
+    private static final BrowserConfig config = ConfigFactory.getBrowserConfig();
+    private static final TestHistory INSTANCE = new TestHistory();
+    private static final String DURATION_PREFIX = "duration.";
+    private static final String FAILURE_PREFIX = "failures.";
+    /**
+     * Оценка падений ниже этого значения не сохраняется, тест считается стабильным
+     */
+    private static final double FAILURE_FORGET_THRESHOLD = 0.01;
+    /**
+     * Вес нового измерения при сглаживании
+     */
+    private static final double SMOOTHING = 0.5;
+
+    private final Map<String, Long> durations = new HashMap<>();
+    private final Map<String, Long> sharedDurations = new HashMap<>();
+    private final Map<String, Double> failures = new HashMap<>();
+    private final Map<String, Long> measured = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> outcomes = new ConcurrentHashMap<>();
+
+    private TestHistory() {
+        load();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::save, "test-history-save"));
+    }
+
+    /**
+     * Получить историю выполнения тестов
+     * @return история выполнения
+     */
+    public static TestHistory getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Ключ тестового метода в истории
+     * @param className полное имя класса
+     * @param methodName имя метода
+     * @return ключ метода
+     */
+    public static String methodKey(String className, String methodName) {
+        return className + "#" + methodName;
+    }
+
+    /**
+     * Получить длительность теста по прошлым прогонам
+     * @param key полное имя класса или ключ метода
+     * @return длительность в миллисекундах или пустой OptionalLong, если тест еще не выполнялся
+     */
+    public OptionalLong duration(String key) {
+        Long duration = durations.get(key);
+        return duration == null ? OptionalLong.empty() : OptionalLong.of(duration);
+    }
+
+    /**
+     * Получить длительности всех известных тестов
+     * @return длительности в миллисекундах по полному имени класса или ключу метода
+     */
+    public Map<String, Long> durations() {
+        return Collections.unmodifiableMap(durations);
+    }
+
+    /**
+     * Получить длительности, одинаковые на всех машинах: из файла истории и из результатов Allure,
+     * если их каталог объявлен общим
+     * @return длительности в миллисекундах по полному имени класса или ключу метода
+     */
+    public Map<String, Long> sharedDurations() {
+        return Collections.unmodifiableMap(sharedDurations);
+    }
+
+    /**
+     * Получить оценку недавних падений теста: 1 — падал в каждом из последних прогонов, 0 — не падал
+     * @param key полное имя класса или ключ метода
+     * @return оценка от 0 до 1
+     */
+    public double failureScore(String key) {
+        return failures.getOrDefault(key, 0.0);
+    }
+
+    /**
+     * Записать длительность теста в текущем прогоне
+     * @param key полное имя класса или ключ метода
+     * @param millis длительность в миллисекундах
+     */
+    public void recordDuration(String key, long millis) {
+        measured.merge(key, millis, Long::sum);
+    }
+
+    /**
+     * Записать результат теста в текущем прогоне. Повторный результат с падением перекрывает успешный
+     * @param key полное имя класса или ключ метода
+     * @param failed true, если тест упал
+     */
+    public void recordOutcome(String key, boolean failed) {
+        outcomes.merge(key, failed, Boolean::logicalOr);
+    }
+
+    private void load() {
+        Map<String, Long> allure = readAllureResults(Paths.get(config.testHistoryAllureDir()));
+        durations.putAll(allure);
+        if (config.isTestHistoryAllureShared()) {
+            sharedDurations.putAll(allure);
+        }
+        Properties file = readFile(historyPath());
+        for (String key : file.stringPropertyNames()) {
+            if (key.startsWith(DURATION_PREFIX)) {
+                parse(file.getProperty(key)).ifPresent(value -> {
+                    durations.put(key.substring(DURATION_PREFIX.length()), value);
+                    sharedDurations.put(key.substring(DURATION_PREFIX.length()), value);
+                });
+            } else if (key.startsWith(FAILURE_PREFIX)) {
+                parseScore(file.getProperty(key)).ifPresent(value -> failures.put(key.substring(FAILURE_PREFIX.length()), value));
+            }
+        }
+        logger.debug("Loaded history of {} test(s), {} with recent failures", durations.size(), failures.size());
+    }
+
+    private void save() {
+        if (measured.isEmpty() && outcomes.isEmpty()) {
+            return;
+        }
+        Path path = historyPath();
+        try {
+            Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            // несколько форков surefire завершаются одновременно, файл обновляется под блокировкой
+            try (FileChannel channel = FileChannel.open(directory.resolve(path.getFileName() + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    Properties history = readFile(path);
+                    measured.forEach((className, millis) -> {
+                        String key = DURATION_PREFIX + className;
+                        long smoothed = parse(history.getProperty(key))
+                                .stream()
+                                .map(previous -> Math.round(previous * (1 - SMOOTHING) + millis * SMOOTHING))
+                                .findFirst()
+                                .orElse(millis);
+                        history.setProperty(key, String.valueOf(smoothed));
+                    });
+                    outcomes.forEach((testKey, failed) -> {
+                        String key = FAILURE_PREFIX + testKey;
+                        double previous = parseScore(history.getProperty(key)).orElse(0.0);
+                        double score = previous * (1 - SMOOTHING) + (failed ? SMOOTHING : 0);
+                        if (score < FAILURE_FORGET_THRESHOLD) {
+                            history.remove(key);
+                        } else {
+                            history.setProperty(key, String.format(Locale.ROOT, "%.3f", score));
+                        }
+                    });
+                    Path tmp = Files.createTempFile(directory, "test-history", ".tmp");
+                    try (OutputStream out = Files.newOutputStream(tmp)) {
+                        history.store(out, "Test durations in milliseconds and recent failure scores");
+                    }
+                    Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    lock.release();
+                }
+            }
+            logger.info("Test history updated for {} test(s): {}", Math.max(measured.size(), outcomes.size()),
+                    path.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Failed to update test history {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static Properties readFile(Path path) {
+        Properties properties = new Properties();
+        if (Files.exists(path)) {
+            try (InputStream in = Files.newInputStream(path)) {
+                properties.load(in);
+            } catch (IOException e) {
+                logger.warn("Failed to read test history {}: {}", path, e.getMessage());
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Суммировать длительности тестов по классам и методам из файлов {@code *-result.json} Allure.
+     * Каталог результатов накапливается между запусками без {@code clean}, поэтому для каждого теста
+     * (по {@code historyId}, у параметризованных тестов он свой для каждого набора параметров)
+     * берется только последний результат
+     */
+    private static Map<String, Long> readAllureResults(Path directory) {
+        Map<String, Long> byTest = new HashMap<>();
+        if (!Files.isDirectory(directory)) {
+            return byTest;
+        }
+        Map<String, AllureResult> latest = new HashMap<>();
+        Json json = new Json();
+        try (DirectoryStream<Path> results = Files.newDirectoryStream(directory, "*-result.json")) {
+            for (Path result : results) {
+                try {
+                    Map<String, Object> test = json.toType(Files.readString(result), Json.MAP_TYPE);
+                    String className = label(test, "testClass");
+                    if (className != null && test.get("start") instanceof Number && test.get("stop") instanceof Number) {
+                        long start = ((Number) test.get("start")).longValue();
+                        long stop = ((Number) test.get("stop")).longValue();
+                        String id = String.valueOf(test.getOrDefault("historyId", result.getFileName()));
+                        AllureResult candidate = new AllureResult(className, label(test, "testMethod"),
+                                stop, Math.max(0, stop - start));
+                        latest.merge(id, candidate, (previous, next) -> next.stop() > previous.stop() ? next : previous);
+                    }
+                } catch (IOException | JsonException e) {
+                    logger.debug("Skipping unreadable Allure result {}: {}", result, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to read Allure results from {}: {}", directory, e.getMessage());
+        }
+        latest.values().forEach(result -> {
+            byTest.merge(result.className(), result.millis(), Long::sum);
+            if (result.methodName() != null) {
+                byTest.merge(methodKey(result.className(), result.methodName()), result.millis(), Long::sum);
+            }
+        });
+        return byTest;
+    }
+
+    private static String label(Map<String, Object> test, String name) {
+        if (!(test.get("labels") instanceof List)) {
+            return null;
+        }
+        for (Object item : (List<?>) test.get("labels")) {
+            if (item instanceof Map && name.equals(((Map<?, ?>) item).get("name"))) {
+                return String.valueOf(((Map<?, ?>) item).get("value"));
+            }
+        }
+        return null;
+    }
+
+    private static OptionalLong parse(String value) {
+        if (value == null) {
+            return OptionalLong.empty();
+        }
+        try {
+            return OptionalLong.of(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    private static Optional<Double> parseScore(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Double.parseDouble(value.trim()));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Path historyPath() {
+        return Paths.get(config.testHistoryPath());
+    }
+
+    /**
+     * Последний результат одного теста из каталога Allure
+     */
+    private record AllureResult(String className, String methodName, long stop, long millis) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.practice.ui.execution;
+
+import com.practice.ui.utils.LocatorRegistry;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Сводка по локаторам, которые не удалось перевести из XPath в CSS.
+ * Выводится один раз в конце запуска, когда все page object, использованные тестами, уже загружены
+ * и их локаторы зарегистрированы в {@link LocatorRegistry}
+ */
+public class XPathLocatorReport implements LauncherSessionListener {
+    private static final Logger logger = LoggerFactory.getLogger(XPathLocatorReport.class);
+
+    @Override
+    public void launcherSessionClosed(LauncherSession session) {
+        Map<String, String> xpathOnly = new TreeMap<>(LocatorRegistry.xpathOnly());
+        if (xpathOnly.isEmpty()) {
+            return;
+        }
+        StringBuilder report = new StringBuilder();
+        xpathOnly.forEach((xpath, reason) -> report.append(System.lineSeparator())
+                .append("  ").append(xpath).append(" (").append(reason).append(')'));
+        logger.info("{} locator(s) remain XPath:{}", xpathOnly.size(), report);
+    }
+}
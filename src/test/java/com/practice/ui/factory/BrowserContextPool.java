@@ -0,0 +1,229 @@
+package com.practice.ui.factory;
+
+import com.practice.ui.config.BrowserConfig;
+import com.practice.ui.config.ConfigFactory;
+import com.practice.ui.utils.ActionMode;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Изолированные контексты в одном процессе Chromium-браузера.
+ * Браузер запускается один раз (хост-драйвер), а каждый тест получает собственный
+ * контекст браузера ({@code Target.createBrowserContext}, аналог окна инкогнито: отдельные cookies,
+ * localStorage и кэш) с вкладкой в нем. Тесту выдается отдельный легкий драйвер, подключенный
+ * к общему браузеру по адресу DevTools и переключенный на вкладку своего контекста,
+ * поэтому тесты не мешают друг другу командами. После теста контекст удаляется вместе с вкладками,
+ * а подключенный драйвер переиспользуется для следующего контекста.
+ * <p>
+ * Одновременно выдается не более {@code browser.contexts.max} контекстов.
+ * Подключенный драйвер видит вкладки всех контекстов, поэтому тестам, которые перебирают
+ * {@code getWindowHandles()}, этот режим не подходит. Поддерживаются только локальные Chrome и Edge
+ */
+public class BrowserContextPool {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserContextPool.class);
+    private static final BrowserConfig config = ConfigFactory.getBrowserConfig();
+
+    private final BrowserType browserType;
+    private final Semaphore permits;
+    private final BlockingDeque<WebDriver> idleClients = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, String> leasedContexts = new ConcurrentHashMap<>();
+    private WebDriver host;
+    private String debuggerAddress;
+    private volatile boolean closed;
+
+    /**
+     * Пул создается при первом обращении, поэтому проверка {@link #isSupported()} при выключенном режиме
+     * не запускает обработчик завершения
+     */
+    private static class Holder {
+        private static final BrowserContextPool INSTANCE = new BrowserContextPool(BrowserType.fromString(config.browserType()));
+    }
+
+    private BrowserContextPool(BrowserType browserType) {
+        this.browserType = browserType;
+        this.permits = new Semaphore(Math.max(1, config.contextsMax()), true);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "browser-contexts-shutdown"));
+    }
+
+    /**
+     * Получить общий пул контекстов
+     * @return пул контекстов
+     */
+    public static BrowserContextPool getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Проверить, можно ли выдавать тестам контексты общего браузера
+     * @return true, если режим включен, а браузер локальный Chrome или Edge
+     */
+    public static boolean isSupported() {
+        BrowserType type = BrowserType.fromString(config.browserType());
+        return config.isContextsEnabled() && !config.isRemote() && (type == BrowserType.CHROME || type == BrowserType.EDGE);
+    }
+
+    /**
+     * Выдать драйвер, работающий во вкладке нового изолированного контекста.
+     * Если все {@code browser.contexts.max} контекстов заняты, вызов ждет освобождения не дольше {@code browser.timeout}
+     * @return экземпляр WebDriver
+     */
+    public WebDriver borrow() {
+        if (closed) {
+            throw new IllegalStateException("Browser context pool is already closed");
+        }
+        acquire();
+        WebDriver client = null;
+        String contextId = null;
+        try {
+            String address = hostAddress();
+            client = idleClients.pollFirst();
+            if (client == null) {
+                client = BrowserFactory.attachDriver(browserType, address);
+            }
+            contextId = String.valueOf(hostCommand("Target.createBrowserContext", Map.of("disposeOnDetach", false))
+                    .get("browserContextId"));
+            String targetId = String.valueOf(hostCommand("Target.createTarget",
+                    Map.of("url", "about:blank", "browserContextId", contextId)).get("targetId"));
+            // для ChromeDriver идентификатор цели DevTools совпадает с дескриптором окна
+            client.switchTo().window(targetId);
+            prepareTarget(client, targetId);
+            leasedContexts.put(client, contextId);
+            logger.debug("Leased browser context {} ({} in use)", contextId, leasedContexts.size());
+            return client;
+        } catch (RuntimeException e) {
+            if (contextId != null) {
+                disposeContext(contextId);
+            }
+            if (client != null) {
+                quitQuietly(client);
+            }
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Вернуть драйвер: контекст удаляется вместе со всеми вкладками, cookies и хранилищами,
+     * а подключенный драйвер остается для следующего теста
+     * @param driver экземпляр WebDriver, полученный из {@link #borrow()}
+     */
+    public void release(WebDriver driver) {
+        String contextId = leasedContexts.remove(driver);
+        if (contextId == null) {
+            logger.warn("Driver was not leased from the context pool, quitting it");
+            quitQuietly(driver);
+            return;
+        }
+        try {
+            boolean disposed = disposeContext(contextId);
+            if (disposed && !closed) {
+                idleClients.offerFirst(driver);
+            } else {
+                quitQuietly(driver);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Закрыть подключенные драйверы и общий браузер
+     */
+    public synchronized void shutdown() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        List<WebDriver> clients = new ArrayList<>(leasedContexts.keySet());
+        leasedContexts.clear();
+        idleClients.drainTo(clients);
+        // подключенный драйвер при завершении не закрывает чужой браузер
+        clients.forEach(this::quitQuietly);
+        if (host != null) {
+            logger.info("Closing shared browser after {} client driver(s)", clients.size());
+            quitQuietly(host);
+            host = null;
+        }
+    }
+
+    private synchronized String hostAddress() {
+        if (host == null) {
+            logger.info("Starting shared {} browser for isolated contexts", browserType);
+            host = BrowserFactory.createDriver(browserType);
+            debuggerAddress = debuggerAddress(host);
+            logger.info("Shared browser DevTools address: {}", debuggerAddress);
+        }
+        return debuggerAddress;
+    }
+
+    private String debuggerAddress(WebDriver driver) {
+        String optionsKey = browserType == BrowserType.EDGE ? "ms:edgeOptions" : "goog:chromeOptions";
+        Object options = ((HasCapabilities) driver).getCapabilities().getCapability(optionsKey);
+        if (options instanceof Map && ((Map<?, ?>) options).get("debuggerAddress") != null) {
+            return String.valueOf(((Map<?, ?>) options).get("debuggerAddress"));
+        }
+        throw new IllegalStateException("Browser did not report a DevTools address in " + optionsKey);
+    }
+
+    /**
+     * Подготовить вкладку нового контекста так же, как {@link BrowserFactory#createDriver(BrowserType)}
+     * готовит окно нового браузера: размер окна и блокировка запросов. Сессия DevTools подключенного
+     * драйвера переподключается к вкладке, так как перехват Fetch и быстрый путь действий
+     * работают в пределах одной цели DevTools
+     */
+    private void prepareTarget(WebDriver client, String targetId) {
+        if (NetworkBlocker.isEnabled() || ActionMode.fromString(config.elementActionsMode()) == ActionMode.CDP) {
+            ((HasDevTools) client).getDevTools().createSession(targetId);
+        }
+        client.manage().window().setSize(new Dimension(config.browserWidth(), config.browserHeight()));
+        NetworkBlocker.apply(client);
+    }
+
+    private synchronized Map<String, Object> hostCommand(String command, Map<String, Object> parameters) {
+        return ((HasCdp) host).executeCdpCommand(command, parameters);
+    }
+
+    private boolean disposeContext(String contextId) {
+        try {
+            hostCommand("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+            return true;
+        } catch (WebDriverException e) {
+            logger.warn("Failed to dispose browser context {}: {}", contextId, e.getMessage());
+            return false;
+        }
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            logger.debug("Failed to quit driver: {}", e.getMessage());
+        }
+    }
+
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(config.timeout(), TimeUnit.SECONDS)) {
+                throw new IllegalStateException("No free browser context after " + config.timeout() + " seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser context", e);
+        }
+    }
+}
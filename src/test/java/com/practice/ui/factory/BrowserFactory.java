@@ -2,8 +2,10 @@ package com.practice.ui.factory;
 
 import com.practice.ui.config.BrowserConfig;
 import com.practice.ui.config.ConfigFactory;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.practice.ui.utils.WaitPolicy;
+import com.practice.ui.utils.WaitType;
 import org.openqa.selenium.Dimension;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -11,6 +13,7 @@ import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.CommandExecutor;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.safari.SafariDriver;
 import org.openqa.selenium.safari.SafariOptions;
@@ -19,7 +22,6 @@ import org.slf4j.LoggerFactory;
 
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.time.Duration;
 
 /**
  * Фабрика для создания экземпляров WebDriver
@@ -33,22 +35,79 @@ public class BrowserFactory {
      * @return экземпляр WebDriver
      */
     public static WebDriver createDriver() {
-        BrowserType browserType = BrowserType.fromString(config.browserType());
+        return createDriver(BrowserType.fromString(config.browserType()));
+    }
+    
+    /**
+     * Создает экземпляр WebDriver для указанного типа браузера
+     * @param browserType тип браузера
+     * @return экземпляр WebDriver
+     */
+    public static WebDriver createDriver(BrowserType browserType) {
         WebDriver driver;
         
         if (config.isRemote()) {
             driver = createRemoteDriver(browserType);
         } else {
             driver = createLocalDriver(browserType);
+            if (BrowserProfiles.isEnabled()) {
+                BrowserProfiles.getInstance().launched(driver);
+            }
         }
         
         driver.manage().window().setSize(new Dimension(config.browserWidth(), config.browserHeight()));
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(config.timeout()));
-        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(config.timeout()));
+        applyTimeouts(driver);
+        NetworkBlocker.apply(driver);
         
         return driver;
     }
     
+    /**
+     * Создает локальный драйвер, подключенный к уже запущенному Chromium-браузеру по адресу DevTools.
+     * Новый процесс браузера не запускается, запускается только процесс драйвера.
+     * Размер окна и блокировка запросов применяются к каждой вкладке в {@link BrowserContextPool}
+     * @param browserType тип браузера (CHROME или EDGE)
+     * @param debuggerAddress адрес DevTools браузера, например {@code localhost:9222}
+     * @return экземпляр WebDriver
+     */
+    static WebDriver attachDriver(BrowserType browserType, String debuggerAddress) {
+        logger.debug("Attaching {} driver to browser at {}", browserType, debuggerAddress);
+        WebDriver driver;
+        if (browserType == BrowserType.EDGE) {
+            DriverResolver.resolve(BrowserType.EDGE);
+            EdgeOptions options = new EdgeOptions();
+            options.setExperimentalOption("debuggerAddress", debuggerAddress);
+            options.setPageLoadStrategy(pageLoadStrategy());
+            driver = new EdgeDriver(options);
+        } else {
+            DriverResolver.resolve(BrowserType.CHROME);
+            ChromeOptions options = new ChromeOptions();
+            options.setExperimentalOption("debuggerAddress", debuggerAddress);
+            options.setPageLoadStrategy(pageLoadStrategy());
+            driver = new ChromeDriver(options);
+        }
+        applyTimeouts(driver);
+        return driver;
+    }
+    
+    private static void applyTimeouts(WebDriver driver) {
+        driver.manage().timeouts().implicitlyWait(WaitPolicy.implicitWait());
+        driver.manage().timeouts().pageLoadTimeout(WaitPolicy.timeout(WaitType.PAGE_LOAD));
+    }
+    
+    /**
+     * Стратегия загрузки страниц из конфигурации ({@code browser.page.load.strategy}).
+     * Готовность страницы определяют page object через {@link com.practice.ui.utils.ReadinessProbe}
+     * @return стратегия загрузки
+     */
+    static PageLoadStrategy pageLoadStrategy() {
+        PageLoadStrategy strategy = PageLoadStrategy.fromString(config.pageLoadStrategy());
+        if (strategy == null) {
+            throw new IllegalArgumentException("Unsupported page load strategy: " + config.pageLoadStrategy());
+        }
+        return strategy;
+    }
+    
     /**
      * Создает локальный экземпляр WebDriver
      * @param browserType тип браузера
@@ -59,19 +118,19 @@ public class BrowserFactory {
         
         switch (browserType) {
             case CHROME:
-                WebDriverManager.chromedriver().setup();
+                DriverResolver.resolve(BrowserType.CHROME);
                 return new ChromeDriver(new ChromeOptionsBuilder().build());
             case FIREFOX:
-                WebDriverManager.firefoxdriver().setup();
+                DriverResolver.resolve(BrowserType.FIREFOX);
                 return new FirefoxDriver(new FirefoxOptionsBuilder().build());
             case EDGE:
-                WebDriverManager.edgedriver().setup();
+                DriverResolver.resolve(BrowserType.EDGE);
                 return new EdgeDriver(new EdgeOptionsBuilder().build());
             case SAFARI:
                 return new SafariDriver(new SafariOptionsBuilder().build());
             default:
                 logger.warn("Unknown browser type: {}. Using Chrome as default.", browserType);
-                WebDriverManager.chromedriver().setup();
+                DriverResolver.resolve(BrowserType.CHROME);
                 return new ChromeDriver(new ChromeOptionsBuilder().build());
         }
     }
@@ -86,19 +145,21 @@ public class BrowserFactory {
         
         try {
             URL hubUrl = new URL(config.remoteUrl());
+            // сессии используют общий HTTP-клиент с пулом соединений вместо собственного клиента на каждую сессию
+            CommandExecutor executor = RemoteHttpClients.getInstance().executor(hubUrl);
             
             switch (browserType) {
                 case CHROME:
-                    return new RemoteWebDriver(hubUrl, new ChromeOptionsBuilder().build());
+                    return new RemoteWebDriver(executor, new ChromeOptionsBuilder().build());
                 case FIREFOX:
-                    return new RemoteWebDriver(hubUrl, new FirefoxOptionsBuilder().build());
+                    return new RemoteWebDriver(executor, new FirefoxOptionsBuilder().build());
                 case EDGE:
-                    return new RemoteWebDriver(hubUrl, new EdgeOptionsBuilder().build());
+                    return new RemoteWebDriver(executor, new EdgeOptionsBuilder().build());
                 case SAFARI:
-                    return new RemoteWebDriver(hubUrl, new SafariOptionsBuilder().build());
+                    return new RemoteWebDriver(executor, new SafariOptionsBuilder().build());
                 default:
                     logger.warn("Unknown browser type: {}. Using Chrome as default.", browserType);
-                    return new RemoteWebDriver(hubUrl, new ChromeOptionsBuilder().build());
+                    return new RemoteWebDriver(executor, new ChromeOptionsBuilder().build());
             }
         } catch (MalformedURLException e) {
             logger.error("Invalid remote URL: {}", config.remoteUrl(), e);
@@ -0,0 +1,229 @@
+package com.practice.ui.factory;
+
+import com.practice.ui.config.BrowserConfig;
+import com.practice.ui.config.ConfigFactory;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Постоянные профили браузеров с прогретым дисковым кэшем.
+ * Для каждого типа браузера в каталоге {@code browser.profile.dir} хранится шаблон профиля
+ * ({@code template-chrome}, {@code template-edge}). Каждая сессия Chrome/Edge
+ * получает собственную копию шаблона, поэтому сессии изолированы друг от друга, но начинают
+ * с уже скачанными скриптами, стилями и картинками. Если в шаблоне еще нет кэша, в него переносится
+ * HTTP-кэш и кэш скриптов первой завершившейся сессии; cookies и хранилища страниц в шаблон не попадают.
+ * Размер кэша ограничен {@code browser.profile.cache.size.mb}. Чтобы прогреть кэш заново, шаблон удаляется.
+ * Для Firefox шаблон не используется: каждая сессия начинает с нового профиля, ограничивается только размер кэша.
+ * <p>
+ * Копия профиля удаляется после закрытия браузера: закрытие определяется по исчезновению файла блокировки
+ * профиля при подготовке следующей сессии и при завершении JVM
+ */
+public class BrowserProfiles {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserProfiles.class);
+    private static final BrowserConfig config = ConfigFactory.getBrowserConfig();
+    private static final BrowserProfiles INSTANCE = new BrowserProfiles();
+    /**
+     * Каталоги профиля Chromium, которые переносятся в шаблон: HTTP-кэш и кэш скомпилированных скриптов
+     */
+    private static final List<String> CACHE_DIRS = List.of("Default/Cache", "Default/Code Cache");
+    private static final List<String> LOCK_FILES = List.of("SingletonLock", "SingletonCookie", "SingletonSocket", "lockfile");
+
+    private final Path root;
+    private final Map<Path, BrowserType> prepared = new ConcurrentHashMap<>();
+    private final Map<Path, BrowserType> launched = new ConcurrentHashMap<>();
+
+    private BrowserProfiles() {
+        this.root = root();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::cleanup, "browser-profiles-cleanup"));
+    }
+
+    /**
+     * Получить менеджер профилей
+     * @return менеджер профилей
+     */
+    public static BrowserProfiles getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Проверить, включены ли постоянные профили. Для удаленных браузеров профили не используются
+     * @return true, если профили включены в конфигурации
+     */
+    public static boolean isEnabled() {
+        return config.isProfileEnabled() && !config.isRemote();
+    }
+
+    /**
+     * Подготовить каталог профиля для новой сессии Chrome или Edge
+     * @param browserType тип браузера
+     * @return каталог профиля для {@code --user-data-dir}
+     */
+    public Path prepare(BrowserType browserType) {
+        sweep();
+        try {
+            Path sessions = Files.createDirectories(root.resolve("sessions"));
+            Path session = Files.createTempDirectory(sessions, name(browserType) + "-").toAbsolutePath().normalize();
+            Path template = template(browserType);
+            if (Files.isDirectory(template)) {
+                copy(template, session);
+            }
+            prepared.put(session, browserType);
+            return session;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to prepare browser profile in " + root, e);
+        }
+    }
+
+    /**
+     * Отметить, что браузер запущен с подготовленным профилем; после закрытия браузера копия профиля удаляется
+     * @param driver созданный драйвер
+     */
+    public void launched(WebDriver driver) {
+        userDataDir(driver).ifPresent(dir -> {
+            BrowserType browserType = prepared.remove(dir);
+            if (browserType != null) {
+                launched.put(dir, browserType);
+            }
+        });
+    }
+
+    /**
+     * Шаблон профиля браузера
+     * @param browserType тип браузера
+     * @return каталог шаблона (может не существовать)
+     */
+    private Path template(BrowserType browserType) {
+        return root.resolve("template-" + name(browserType));
+    }
+
+    /**
+     * Максимальный размер дискового кэша
+     * @return размер в байтах
+     */
+    static long cacheSizeBytes() {
+        return Math.max(1, config.profileCacheSizeMb()) * 1024L * 1024L;
+    }
+
+    private synchronized void sweep() {
+        for (Map.Entry<Path, BrowserType> entry : new ArrayList<>(launched.entrySet())) {
+            if (!isLocked(entry.getKey())) {
+                launched.remove(entry.getKey());
+                retire(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private synchronized void cleanup() {
+        sweep();
+        // браузеры, которые еще не закрылись, закрываются другими обработчиками завершения
+        launched.keySet().forEach(BrowserProfiles::delete);
+        prepared.keySet().forEach(BrowserProfiles::delete);
+        launched.clear();
+        prepared.clear();
+    }
+
+    private void retire(Path session, BrowserType browserType) {
+        Path template = template(browserType);
+        for (String cacheDir : CACHE_DIRS) {
+            Path source = session.resolve(cacheDir);
+            Path target = template.resolve(cacheDir);
+            if (!Files.isDirectory(source) || Files.exists(target)) {
+                continue;
+            }
+            // кэш переносится целиком: другие форки могут одновременно наполнять тот же шаблон
+            try {
+                Files.createDirectories(target.getParent());
+                Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+                logger.info("Seeded {} profile template with {}", browserType, cacheDir);
+            } catch (FileAlreadyExistsException e) {
+                logger.debug("{} profile template already has {}", browserType, cacheDir);
+            } catch (IOException e) {
+                logger.debug("Failed to seed {} profile template with {}: {}", browserType, cacheDir, e.getMessage());
+            }
+        }
+        delete(session);
+    }
+
+    private static boolean isLocked(Path session) {
+        // SingletonLock в Linux и macOS — символическая ссылка на несуществующий путь
+        return LOCK_FILES.stream().anyMatch(lock -> Files.exists(session.resolve(lock), LinkOption.NOFOLLOW_LINKS));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<Path> userDataDir(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities)) {
+            return Optional.empty();
+        }
+        for (String capability : List.of("chrome", "msedge")) {
+            Object details = ((HasCapabilities) driver).getCapabilities().getCapability(capability);
+            if (details instanceof Map && ((Map<String, Object>) details).get("userDataDir") != null) {
+                return Optional.of(Paths.get(String.valueOf(((Map<String, Object>) details).get("userDataDir")))
+                        .toAbsolutePath().normalize());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static void copy(Path source, Path target) throws IOException {
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (LOCK_FILES.contains(path.getFileName().toString())) {
+                    continue;
+                }
+                Path destination = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(destination);
+                } else {
+                    Files.copy(path, destination, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    private static void delete(Path directory) {
+        if (!Files.exists(directory, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    logger.debug("Failed to delete {}: {}", path, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            logger.debug("Failed to delete browser profile {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static String name(BrowserType browserType) {
+        return browserType.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static Path root() {
+        String configured = config.profileDir();
+        if (configured != null && !configured.isBlank()) {
+            return Paths.get(configured).toAbsolutePath().normalize();
+        }
+        return Paths.get(System.getProperty("user.home"), ".cache", "practice-automation-ui", "browser-profile");
+    }
+}
@@ -34,8 +34,26 @@ public class ChromeOptionsBuilder {
         options.addArguments("--disable-dev-shm-usage");
         options.addArguments("--disable-gpu");
         options.addArguments("--disable-extensions");
+        
+        // Фоновые запросы, обновление компонентов и замедление фоновых вкладок тестам не нужны
+        options.addArguments("--disable-background-networking");
+        options.addArguments("--disable-component-update");
+        options.addArguments("--disable-background-timer-throttling");
+        options.addArguments("--disable-backgrounding-occluded-windows");
+        options.addArguments("--disable-renderer-backgrounding");
+        
+        // Копия постоянного профиля с прогретым дисковым кэшем
+        if (BrowserProfiles.isEnabled()) {
+            options.addArguments("--user-data-dir=" + BrowserProfiles.getInstance().prepare(BrowserType.CHROME));
+            options.addArguments("--disk-cache-size=" + BrowserProfiles.cacheSizeBytes());
+            options.addArguments("--no-first-run");
+            options.addArguments("--no-default-browser-check");
+        }
         options.addArguments("--disable-popup-blocking");
         
+        // Стратегия загрузки страниц
+        options.setPageLoadStrategy(BrowserFactory.pageLoadStrategy());
+        
         // Настройка размера окна
         options.addArguments("--window-size=" + config.browserWidth() + "," + config.browserHeight());
         
@@ -0,0 +1,269 @@
+package com.practice.ui.factory;
+
+import com.practice.ui.config.BrowserConfig;
+import com.practice.ui.config.ConfigFactory;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пул живых сессий WebDriver.
+ * Держит не более {@code browser.pool.size} сессий на каждый тип браузера,
+ * выдает их тестам и принимает обратно после сброса состояния.
+ * Упавшие сессии и сессии, превысившие {@code browser.pool.max.reuse} использований, закрываются.
+ */
+public class DriverPool {
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+    private static final BrowserConfig config = ConfigFactory.getBrowserConfig();
+    private static final DriverPool INSTANCE = new DriverPool(config.poolSize(), config.poolMaxReuse());
+
+    private final int size;
+    private final int maxReuse;
+    private final Map<BrowserType, BlockingDeque<PooledSession>> idle = new ConcurrentHashMap<>();
+    private final Map<BrowserType, Semaphore> permits = new ConcurrentHashMap<>();
+    private final Map<WebDriver, PooledSession> borrowed = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    private DriverPool(int size, int maxReuse) {
+        this.size = Math.max(1, size);
+        this.maxReuse = Math.max(1, maxReuse);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "driver-pool-shutdown"));
+    }
+
+    /**
+     * Получить общий пул сессий
+     * @return пул сессий
+     */
+    public static DriverPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Взять сессию для браузера из конфигурации
+     * @return экземпляр WebDriver
+     */
+    public WebDriver borrow() {
+        return borrow(BrowserType.fromString(config.browserType()));
+    }
+
+    /**
+     * Взять сессию указанного типа браузера.
+     * Если свободных сессий нет, но лимит пула не исчерпан, создается новая сессия,
+     * иначе вызов ждет возврата сессии не дольше {@code browser.timeout}
+     * @param browserType тип браузера
+     * @return экземпляр WebDriver
+     */
+    public WebDriver borrow(BrowserType browserType) {
+        if (closed) {
+            throw new IllegalStateException("Driver pool is already closed");
+        }
+        Semaphore semaphore = permits(browserType);
+        acquire(semaphore, browserType);
+        try {
+            PooledSession session = takeHealthy(browserType);
+            if (session == null) {
+                logger.info("Pool has no idle {} session, creating a new one", browserType);
+                WebDriver driver = BrowserFactory.createDriver(browserType);
+                session = new PooledSession(browserType, driver, driver.getWindowHandle());
+            }
+            session.uses++;
+            borrowed.put(session.driver, session);
+            logger.debug("Borrowed {} session, use {} of {}", browserType, session.uses, maxReuse);
+            return session.driver;
+        } catch (RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Вернуть сессию в пул. Перед возвратом сбрасываются cookies, localStorage/sessionStorage,
+     * лишние окна и открытые алерты. Сессия закрывается, если сброс не удался
+     * или исчерпан лимит переиспользований
+     * @param driver экземпляр WebDriver, полученный из пула
+     */
+    public void release(WebDriver driver) {
+        PooledSession session = borrowed.remove(driver);
+        if (session == null) {
+            logger.warn("Driver was not borrowed from the pool, quitting it");
+            quitQuietly(driver);
+            return;
+        }
+        try {
+            if (closed) {
+                evict(session, "pool is closed");
+            } else if (session.uses >= maxReuse) {
+                evict(session, "reuse limit reached");
+            } else if (!resetState(session)) {
+                evict(session, "state reset failed");
+            } else {
+                idle(session.browserType).offerFirst(session);
+            }
+        } finally {
+            permits(session.browserType).release();
+        }
+    }
+
+    /**
+     * Закрыть сессию без возврата в пул, например если браузер в неизвестном состоянии
+     * @param driver экземпляр WebDriver, полученный из пула
+     */
+    public void invalidate(WebDriver driver) {
+        PooledSession session = borrowed.remove(driver);
+        if (session == null) {
+            quitQuietly(driver);
+            return;
+        }
+        try {
+            evict(session, "invalidated");
+        } finally {
+            permits(session.browserType).release();
+        }
+    }
+
+    /**
+     * Закрыть все сессии пула
+     */
+    public void shutdown() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        List<PooledSession> sessions = new ArrayList<>(borrowed.values());
+        borrowed.clear();
+        idle.values().forEach(deque -> deque.drainTo(sessions));
+        if (!sessions.isEmpty()) {
+            logger.info("Closing {} pooled driver session(s)", sessions.size());
+        }
+        sessions.forEach(session -> quitQuietly(session.driver));
+    }
+
+    private PooledSession takeHealthy(BrowserType browserType) {
+        BlockingDeque<PooledSession> deque = idle(browserType);
+        PooledSession session;
+        while ((session = deque.pollFirst()) != null) {
+            if (isAlive(session.driver)) {
+                return session;
+            }
+            evict(session, "session is not responding");
+        }
+        return null;
+    }
+
+    private boolean resetState(PooledSession session) {
+        WebDriver driver = session.driver;
+        try {
+            dismissAlert(driver);
+            closeExtraWindows(session);
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            driver.manage().deleteAllCookies();
+            if (driver instanceof HasCdp) {
+                // deleteAllCookies удаляет cookies только текущего домена
+                ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (WebDriverException e) {
+            logger.warn("Failed to reset {} session state: {}", session.browserType, e.getMessage());
+            return false;
+        }
+    }
+
+    private void dismissAlert(WebDriver driver) {
+        try {
+            driver.switchTo().alert().dismiss();
+        } catch (NoAlertPresentException e) {
+            // алерта нет
+        }
+    }
+
+    private void closeExtraWindows(PooledSession session) {
+        WebDriver driver = session.driver;
+        Set<String> handles = driver.getWindowHandles();
+        if (!handles.contains(session.primaryHandle)) {
+            session.primaryHandle = handles.iterator().next();
+        }
+        for (String handle : handles) {
+            if (!handle.equals(session.primaryHandle)) {
+                driver.switchTo().window(handle);
+                dismissAlert(driver);
+                driver.close();
+            }
+        }
+        driver.switchTo().window(session.primaryHandle);
+    }
+
+    private boolean isAlive(WebDriver driver) {
+        try {
+            driver.getWindowHandles();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private void evict(PooledSession session, String reason) {
+        logger.info("Evicting {} session after {} use(s): {}", session.browserType, session.uses, reason);
+        quitQuietly(session.driver);
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            logger.debug("Failed to quit driver: {}", e.getMessage());
+        }
+    }
+
+    private void acquire(Semaphore semaphore, BrowserType browserType) {
+        try {
+            if (!semaphore.tryAcquire(config.timeout(), TimeUnit.SECONDS)) {
+                throw new IllegalStateException("No free " + browserType + " session in the pool after "
+                        + config.timeout() + " seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled session", e);
+        }
+    }
+
+    private Semaphore permits(BrowserType browserType) {
+        return permits.computeIfAbsent(browserType, type -> new Semaphore(size, true));
+    }
+
+    private BlockingDeque<PooledSession> idle(BrowserType browserType) {
+        return idle.computeIfAbsent(browserType, type -> new LinkedBlockingDeque<>());
+    }
+
+    /**
+     * Сессия пула вместе с учетом количества использований
+     */
+    private static final class PooledSession {
+        private final BrowserType browserType;
+        private final WebDriver driver;
+        private String primaryHandle;
+        private int uses;
+
+        private PooledSession(BrowserType browserType, WebDriver driver, String primaryHandle) {
+            this.browserType = browserType;
+            this.driver = driver;
+            this.primaryHandle = primaryHandle;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.practice.ui.factory;
+
+import com.practice.ui.config.BrowserConfig;
+import com.practice.ui.config.ConfigFactory;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Фоновый прогрев браузеров.
+ * Фоновые потоки держат наготове {@code browser.prewarm.size} полностью настроенных драйверов,
+ * поэтому тест получает уже запущенный браузер, а запуск следующего идет параллельно с текущим тестом.
+ * Браузеры запускаются одновременно, по потоку на каждый прогреваемый драйвер, поэтому при параллельном
+ * запуске размер прогрева стоит выставлять не меньше числа потоков тестов.
+ * Отработавшие драйверы закрываются тоже в фоне
+ */
+public class DriverPrewarmer {
+    private static final Logger logger = LoggerFactory.getLogger(DriverPrewarmer.class);
+    private static final BrowserConfig config = ConfigFactory.getBrowserConfig();
+    private static final long WAIT_STEP_MILLIS = 100;
+    private static final DriverPrewarmer INSTANCE =
+            new DriverPrewarmer(BrowserType.fromString(config.browserType()), config.prewarmSize());
+
+    private final BrowserType browserType;
+    private final int size;
+    private final BlockingQueue<WebDriver> ready = new LinkedBlockingQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ExecutorService launcher;
+    private final ExecutorService retirer = Executors.newSingleThreadExecutor(daemon("driver-retire"));
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong waits = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicLong launchFailures = new AtomicLong();
+    private volatile boolean closed;
+
+    private DriverPrewarmer(BrowserType browserType, int size) {
+        this.browserType = browserType;
+        this.size = Math.max(1, size);
+        this.launcher = Executors.newFixedThreadPool(this.size, daemon("driver-prewarm"));
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "driver-prewarm-shutdown"));
+    }
+
+    /**
+     * Получить общий прогреватель драйверов
+     * @return прогреватель драйверов
+     */
+    public static DriverPrewarmer getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Выдать прогретый драйвер. Если готового драйвера нет, вызов ждет фоновый запуск,
+     * а ожидание учитывается в статистике
+     * @return экземпляр WebDriver
+     */
+    public WebDriver take() {
+        if (closed) {
+            throw new IllegalStateException("Driver prewarmer is already closed");
+        }
+        requests.incrementAndGet();
+        refill();
+        WebDriver driver = ready.poll();
+        if (driver == null) {
+            driver = awaitReady();
+        }
+        refill();
+        return driver;
+    }
+
+    /**
+     * Закрыть драйвер в фоновом потоке, не задерживая завершение теста
+     * @param driver экземпляр WebDriver
+     */
+    public void retire(WebDriver driver) {
+        if (closed) {
+            quitQuietly(driver);
+            return;
+        }
+        retirer.execute(() -> quitQuietly(driver));
+    }
+
+    /**
+     * Статистика ожиданий для подбора {@code browser.prewarm.size}
+     * @return строка со статистикой
+     */
+    public String getStats() {
+        long total = requests.get();
+        long waited = waits.get();
+        double ratio = total == 0 ? 0 : 100.0 * waited / total;
+        return String.format("requests=%d, waited=%d (%.1f%%), total wait=%d ms, launch failures=%d, warm size=%d",
+                total, waited, ratio, TimeUnit.NANOSECONDS.toMillis(waitNanos.get()), launchFailures.get(), size);
+    }
+
+    /**
+     * Закрыть прогретые драйверы и остановить фоновые потоки
+     */
+    public void shutdown() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        launcher.shutdownNow();
+        if (requests.get() > 0) {
+            logger.info("Driver prewarm stats: {}", getStats());
+        }
+        List<WebDriver> drivers = new ArrayList<>();
+        ready.drainTo(drivers);
+        drivers.forEach(this::quitQuietly);
+        retirer.shutdown();
+        try {
+            if (!retirer.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Some retired drivers were not closed in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private WebDriver awaitReady() {
+        waits.incrementAndGet();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(config.timeout());
+        try {
+            while (true) {
+                WebDriver driver = ready.poll(WAIT_STEP_MILLIS, TimeUnit.MILLISECONDS);
+                if (driver != null) {
+                    return driver;
+                }
+                if (pending.get() == 0 && ready.isEmpty()) {
+                    // фоновый запуск упал, создаем драйвер синхронно, чтобы получить настоящую ошибку
+                    return BrowserFactory.createDriver(browserType);
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("No prewarmed " + browserType + " driver after "
+                            + config.timeout() + " seconds");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a prewarmed driver", e);
+        } finally {
+            long waited = System.nanoTime() - start;
+            waitNanos.addAndGet(waited);
+            logger.info("Test waited {} ms for a prewarmed driver", TimeUnit.NANOSECONDS.toMillis(waited));
+        }
+    }
+
+    private synchronized void refill() {
+        while (!closed && ready.size() + pending.get() < size) {
+            pending.incrementAndGet();
+            launcher.execute(this::launch);
+        }
+    }
+
+    private void launch() {
+        try {
+            if (!closed) {
+                ready.offer(BrowserFactory.createDriver(browserType));
+            }
+        } catch (RuntimeException e) {
+            launchFailures.incrementAndGet();
+            logger.warn("Failed to prewarm {} driver: {}", browserType, e.getMessage());
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            logger.debug("Failed to quit driver: {}", e.getMessage());
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,152 @@
+package com.practice.ui.factory;
+
+import com.practice.ui.config.BrowserConfig;
+import com.practice.ui.config.ConfigFactory;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.versions.VersionDetector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Разрешение бинарников драйверов через WebDriverManager.
+ * Драйвер разрешается один раз за JVM для каждого типа браузера, а результат сохраняется
+ * в манифест на диске (версия браузера → путь к драйверу), поэтому следующие запуски
+ * не обращаются к WebDriverManager и работают без сети. Запись манифеста перестает
+ * использоваться, как только меняется установленная версия браузера
+ */
+public class DriverResolver {
+    private static final Logger logger = LoggerFactory.getLogger(DriverResolver.class);
+    private static final BrowserConfig config = ConfigFactory.getBrowserConfig();
+    private static final Map<BrowserType, String> resolved = new ConcurrentHashMap<>();
+
+    private DriverResolver() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Разрешить драйвер для браузера и выставить системное свойство с путем к нему
+     * @param browserType тип браузера
+     */
+    public static void resolve(BrowserType browserType) {
+        resolved.computeIfAbsent(browserType, DriverResolver::resolveOnce);
+    }
+
+    private static String resolveOnce(BrowserType browserType) {
+        long start = System.currentTimeMillis();
+        WebDriverManager manager = managerFor(browserType);
+        String browserName = manager.getDriverManagerType().getBrowserNameLowerCase();
+        String driverProperty = driverProperty(browserType);
+
+        Optional<String> browserVersion = config.isDriverManifestEnabled()
+                ? detectBrowserVersion(manager, browserName)
+                : Optional.empty();
+        if (browserVersion.isPresent()) {
+            String cachedPath = readManifest().getProperty(manifestKey(browserName, browserVersion.get()));
+            if (cachedPath != null && Files.isExecutable(Paths.get(cachedPath))) {
+                System.setProperty(driverProperty, cachedPath);
+                logger.info("Using {} driver from manifest for browser {}: {} ({} ms)",
+                        browserName, browserVersion.get(), cachedPath, System.currentTimeMillis() - start);
+                return cachedPath;
+            }
+        }
+
+        manager.setup();
+        String driverPath = manager.getDownloadedDriverPath();
+        if (driverPath != null) {
+            System.setProperty(driverProperty, driverPath);
+            browserVersion.ifPresent(version -> storeInManifest(browserName, version, driverPath));
+        }
+        logger.info("Resolved {} driver via WebDriverManager: {} ({} ms)",
+                browserName, driverPath, System.currentTimeMillis() - start);
+        return driverPath == null ? "" : driverPath;
+    }
+
+    private static Optional<String> detectBrowserVersion(WebDriverManager manager, String browserName) {
+        try {
+            return new VersionDetector(manager.config(), null).getBrowserVersionFromTheShell(browserName);
+        } catch (RuntimeException e) {
+            logger.debug("Failed to detect {} version: {}", browserName, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static synchronized Properties readManifest() {
+        Properties manifest = new Properties();
+        Path path = manifestPath();
+        if (Files.exists(path)) {
+            try (InputStream in = Files.newInputStream(path)) {
+                manifest.load(in);
+            } catch (IOException e) {
+                logger.warn("Failed to read driver manifest {}: {}", path, e.getMessage());
+            }
+        }
+        return manifest;
+    }
+
+    private static synchronized void storeInManifest(String browserName, String browserVersion, String driverPath) {
+        Properties manifest = readManifest();
+        // записи для прежних версий браузера больше не актуальны
+        manifest.stringPropertyNames().stream()
+                .filter(key -> key.startsWith(browserName + "."))
+                .forEach(manifest::remove);
+        manifest.setProperty(manifestKey(browserName, browserVersion), driverPath);
+
+        Path path = manifestPath();
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Path tmp = Files.createTempFile(path.toAbsolutePath().getParent(), "driver-manifest", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                manifest.store(out, "Browser version -> driver binary");
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to write driver manifest {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static Path manifestPath() {
+        String configured = config.driverManifestPath();
+        if (configured != null && !configured.isBlank()) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".cache", "practice-automation-ui", "driver-manifest.properties");
+    }
+
+    private static String manifestKey(String browserName, String browserVersion) {
+        return browserName + "." + browserVersion;
+    }
+
+    private static WebDriverManager managerFor(BrowserType browserType) {
+        switch (browserType) {
+            case FIREFOX:
+                return WebDriverManager.firefoxdriver();
+            case EDGE:
+                return WebDriverManager.edgedriver();
+            default:
+                return WebDriverManager.chromedriver();
+        }
+    }
+
+    private static String driverProperty(BrowserType browserType) {
+        switch (browserType) {
+            case FIREFOX:
+                return "webdriver.gecko.driver";
+            case EDGE:
+                return "webdriver.edge.driver";
+            default:
+                return "webdriver.chrome.driver";
+        }
+    }
+}
@@ -33,8 +33,35 @@ public class FirefoxOptionsBuilder {
         profile.setPreference("browser.download.folderList", 2);
         profile.setPreference("browser.download.manager.showWhenStarting", false);
         
+        // Фоновые запросы, обновления и замедление таймеров фоновых вкладок тестам не нужны
+        profile.setPreference("app.update.auto", false);
+        profile.setPreference("extensions.update.enabled", false);
+        profile.setPreference("app.normandy.enabled", false);
+        profile.setPreference("datareporting.policy.dataSubmissionEnabled", false);
+        profile.setPreference("dom.timeout.enable_budget_timer_throttling", false);
+        
+        // Шаблон постоянного профиля для Firefox не ведется: geckodriver запускает браузер на временной копии
+        // профиля, из которой кэш не переносится. Ограничивается только размер дискового кэша сессии
+        if (BrowserProfiles.isEnabled()) {
+            profile.setPreference("browser.cache.disk.smart_size.enabled", false);
+            profile.setPreference("browser.cache.disk.capacity", (int) (BrowserProfiles.cacheSizeBytes() / 1024));
+        }
+        
+        // Firefox не дает перехватывать запросы через DevTools, поэтому блокируются только картинки и шрифты
+        if (NetworkBlocker.isEnabled()) {
+            if (NetworkBlocker.resourceTypes().contains("Image")) {
+                profile.setPreference("permissions.default.image", 2);
+            }
+            if (NetworkBlocker.resourceTypes().contains("Font")) {
+                profile.setPreference("gfx.downloadable_fonts.enabled", false);
+            }
+        }
+        
         options.setProfile(profile);
         
+        // Стратегия загрузки страниц
+        options.setPageLoadStrategy(BrowserFactory.pageLoadStrategy());
+        
         // Общие настройки для стабильности
         options.addArguments("--width=" + config.browserWidth());
         options.addArguments("--height=" + config.browserHeight());
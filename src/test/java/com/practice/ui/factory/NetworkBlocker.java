@@ -0,0 +1,161 @@
+package com.practice.ui.factory;
+
+import com.practice.ui.config.BrowserConfig;
+import com.practice.ui.config.ConfigFactory;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Блокировка сетевых запросов, которые тестам не нужны: аналитика, реклама, картинки, шрифты.
+ * Для Chromium-браузеров запросы перехватываются через домен Fetch протокола DevTools по шаблонам
+ * {@code network.block.urls} и типам ресурсов {@code network.block.resource.types}
+ * и сразу завершаются ошибкой, поэтому браузер не скачивает и не исполняет их.
+ * Для Firefox типы ресурсов image и font отключаются настройками профиля, счетчики при этом недоступны
+ */
+public class NetworkBlocker {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkBlocker.class);
+    private static final BrowserConfig config = ConfigFactory.getBrowserConfig();
+    private static final Set<String> RESOURCE_TYPES = Set.of("Document", "Stylesheet", "Image", "Media", "Font",
+            "Script", "TextTrack", "XHR", "Fetch", "Prefetch", "EventSource", "WebSocket", "Manifest", "Ping", "Other");
+    private static final Event<Map<String, Object>> REQUEST_PAUSED =
+            new Event<>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE));
+    private static final Map<WebDriver, BlockedRequests> stats = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private NetworkBlocker() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Проверить, включена ли блокировка
+     * @return true, если блокировка включена в конфигурации
+     */
+    public static boolean isEnabled() {
+        return config.isNetworkBlockEnabled();
+    }
+
+    /**
+     * Включить блокировку запросов для вкладки, к которой подключена сессия DevTools драйвера.
+     * Перехват Fetch действует только в пределах одной цели DevTools, поэтому для драйвера,
+     * переключенного в новую вкладку, вызов повторяется после переподключения сессии к ней.
+     * Драйверы без доступа к DevTools (Firefox, Safari, удаленные) пропускаются
+     * @param driver экземпляр WebDriver
+     */
+    public static void apply(WebDriver driver) {
+        // HasDevTools реализует и FirefoxDriver, домен Fetch есть только у Chromium-драйверов
+        if (!isEnabled() || !(driver instanceof HasCdp) || !(driver instanceof HasDevTools)) {
+            return;
+        }
+        List<Map<String, Object>> patterns = patterns();
+        if (patterns.isEmpty()) {
+            return;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            if (!stats.containsKey(driver)) {
+                BlockedRequests blocked = new BlockedRequests();
+                stats.put(driver, blocked);
+                devTools.addListener(REQUEST_PAUSED, paused -> {
+                    blocked.record(String.valueOf(paused.get("resourceType")), host(paused.get("request")));
+                    devTools.send(new Command<Void>("Fetch.failRequest",
+                            Map.of("requestId", paused.get("requestId"), "errorReason", "BlockedByClient"))
+                            .doesNotSendResponse());
+                });
+            }
+            devTools.send(new Command<Void>("Fetch.enable", Map.of("patterns", patterns)));
+            logger.info("Network blocking enabled with {} pattern(s)", patterns.size());
+        } catch (WebDriverException e) {
+            logger.warn("Failed to enable network blocking: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Получить счетчики заблокированных запросов с момента предыдущего вызова и обнулить их
+     * @param driver экземпляр WebDriver, для которого была включена блокировка
+     * @return количество заблокированных запросов по типам ресурсов, пустая карта если блокировок не было
+     */
+    public static Map<String, Integer> drainStats(WebDriver driver) {
+        BlockedRequests blocked = stats.get(driver);
+        return blocked == null ? Collections.emptyMap() : blocked.drain();
+    }
+
+    /**
+     * Получить список типов ресурсов для блокировки в нотации DevTools
+     * @return типы ресурсов, например {@code Image}
+     */
+    static List<String> resourceTypes() {
+        return Arrays.stream(config.networkBlockResourceTypes())
+                .map(String::trim)
+                .filter(type -> !type.isEmpty())
+                .map(type -> RESOURCE_TYPES.stream()
+                        .filter(known -> known.equalsIgnoreCase(type))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("Unsupported resource type: " + type)))
+                .collect(Collectors.toList());
+    }
+
+    private static List<Map<String, Object>> patterns() {
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        Arrays.stream(config.networkBlockUrls())
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .forEach(url -> patterns.add(Map.of("urlPattern", url)));
+        resourceTypes().forEach(type -> patterns.add(Map.of("urlPattern", "*", "resourceType", type)));
+        return patterns;
+    }
+
+    private static String host(Object request) {
+        if (request instanceof Map) {
+            try {
+                return URI.create(String.valueOf(((Map<?, ?>) request).get("url"))).getHost();
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Счетчики заблокированных запросов одного драйвера
+     */
+    private static final class BlockedRequests {
+        private final Map<String, AtomicInteger> byType = new ConcurrentHashMap<>();
+
+        private void record(String resourceType, String host) {
+            byType.computeIfAbsent(resourceType, key -> new AtomicInteger()).incrementAndGet();
+            logger.debug("Blocked {} request to {}", resourceType, host);
+        }
+
+        private Map<String, Integer> drain() {
+            Map<String, Integer> snapshot = new TreeMap<>();
+            byType.forEach((type, counter) -> {
+                int count = counter.getAndSet(0);
+                if (count > 0) {
+                    snapshot.put(type, count);
+                }
+            });
+            return snapshot;
+        }
+    }
+}
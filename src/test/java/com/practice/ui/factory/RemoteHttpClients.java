@@ -0,0 +1,175 @@
+package com.practice.ui.factory;
+
+import com.practice.ui.config.BrowserConfig;
+import com.practice.ui.config.ConfigFactory;
+import com.practice.ui.telemetry.LatencyHistogram;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+import org.openqa.selenium.remote.http.jdk.JdkHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Общий HTTP-клиент для удаленных сессий WebDriver.
+ * Все сессии одного адреса Grid работают через один клиент с общим пулом keep-alive соединений,
+ * таймаутами и версией HTTP из конфигурации ({@code remote.http.*}), поэтому новая сессия
+ * не открывает собственный клиент и не устанавливает соединения заново.
+ * Время каждого запроса учитывается по идентификатору сессии, сводку теста забирает {@link #drainMetrics(WebDriver)}.
+ * <p>
+ * Размер пула и время жизни простаивающих соединений задаются системными свойствами клиента JDK
+ * {@code jdk.httpclient.connectionPoolSize} и {@code jdk.httpclient.keepalive.timeout}; они читаются один раз
+ * при первом создании клиента JDK в JVM и не перезаписываются, если уже заданы явно
+ */
+public class RemoteHttpClients implements HttpClient.Factory {
+    private static final Logger logger = LoggerFactory.getLogger(RemoteHttpClients.class);
+    private static final BrowserConfig config = ConfigFactory.getBrowserConfig();
+    private static final RemoteHttpClients INSTANCE = new RemoteHttpClients();
+    private static final Pattern SESSION_PATH = Pattern.compile("/session/([^/]+)(/.*)?$");
+
+    private final HttpClient.Factory delegateFactory = new JdkHttpClient.Factory();
+    private final Map<URI, SharedClient> clients = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> sessions = new ConcurrentHashMap<>();
+
+    private RemoteHttpClients() {
+        setIfAbsent("jdk.httpclient.connectionPoolSize", config.remoteHttpPoolSize());
+        setIfAbsent("jdk.httpclient.keepalive.timeout", config.remoteHttpKeepAliveSeconds());
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "remote-http-clients-shutdown"));
+    }
+
+    /**
+     * Получить фабрику общих клиентов
+     * @return фабрика клиентов
+     */
+    public static RemoteHttpClients getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Создать исполнитель команд удаленной сессии поверх общего клиента
+     * @param hubUrl адрес Selenium Grid
+     * @return исполнитель команд для {@link RemoteWebDriver}
+     */
+    public CommandExecutor executor(URL hubUrl) {
+        return new HttpCommandExecutor(Collections.emptyMap(), clientConfig(hubUrl), this);
+    }
+
+    /**
+     * Забрать время запросов сессии с момента прошлого вызова
+     * @param driver удаленный драйвер
+     * @return сводка в формате JSON или пустой Optional, если запросов не было
+     */
+    public Optional<String> drainMetrics(WebDriver driver) {
+        if (!(driver instanceof RemoteWebDriver)) {
+            return Optional.empty();
+        }
+        SessionId sessionId = ((RemoteWebDriver) driver).getSessionId();
+        LatencyHistogram histogram = sessionId == null ? null : sessions.remove(sessionId.toString());
+        if (histogram == null || histogram.count() == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new Json().toJson(histogram.toMap()));
+    }
+
+    @Override
+    public HttpClient createClient(ClientConfig clientConfig) {
+        return clients.computeIfAbsent(clientConfig.baseUri(), uri -> {
+            logger.info("Creating shared HTTP client for {} ({})", uri, clientConfig);
+            return new SharedClient(delegateFactory.createClient(clientConfig));
+        });
+    }
+
+    /**
+     * Сессия при закрытии просит фабрику освободить простаивающие клиенты; общие клиенты живут до завершения JVM
+     */
+    @Override
+    public void cleanupIdleClients() {
+        // общие клиенты закрываются при завершении JVM
+    }
+
+    private static ClientConfig clientConfig(URL hubUrl) {
+        return ClientConfig.defaultConfig()
+                .baseUrl(hubUrl)
+                .connectionTimeout(Duration.ofSeconds(config.remoteHttpConnectTimeout()))
+                .readTimeout(Duration.ofSeconds(config.remoteHttpReadTimeout()))
+                .version(config.isRemoteHttp2() ? "HTTP_2" : "HTTP_1_1");
+    }
+
+    private void record(HttpRequest request, long nanos) {
+        Matcher matcher = SESSION_PATH.matcher(request.getUri());
+        if (!matcher.find()) {
+            if (request.getMethod() == HttpMethod.POST) {
+                logger.debug("Remote session request took {} ms", TimeUnit.NANOSECONDS.toMillis(nanos));
+            }
+            return;
+        }
+        String sessionId = matcher.group(1);
+        if (request.getMethod() == HttpMethod.DELETE && matcher.group(2) == null) {
+            sessions.remove(sessionId);
+            return;
+        }
+        sessions.computeIfAbsent(sessionId, id -> new LatencyHistogram()).record(nanos);
+    }
+
+    private void shutdown() {
+        clients.values().forEach(client -> client.delegate.close());
+        clients.clear();
+    }
+
+    private static void setIfAbsent(String property, int value) {
+        if (System.getProperty(property) == null) {
+            System.setProperty(property, String.valueOf(value));
+        }
+    }
+
+    /**
+     * Клиент, общий для всех сессий одного адреса Grid. Закрытие сессии не закрывает клиент
+     */
+    private final class SharedClient implements HttpClient {
+        private final HttpClient delegate;
+
+        private SharedClient(HttpClient delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            long start = System.nanoTime();
+            try {
+                return delegate.execute(request);
+            } finally {
+                record(request, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            return delegate.openSocket(request, listener);
+        }
+
+        @Override
+        public void close() {
+            // клиент общий, его закрывает RemoteHttpClients при завершении JVM
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.practice.ui.factory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+
+/**
+ * Проверки общего HTTP-клиента на заглушке Selenium Grid: сервер создает сессии и отвечает
+ * на команды без браузера, а также запоминает порты клиентских соединений
+ */
+@Tag("UnitTest")
+public class RemoteHttpClientsTest {
+
+    private static final AtomicInteger sessionCounter = new AtomicInteger();
+    private static final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private static HttpServer server;
+    private static URL hubUrl;
+
+    @BeforeAll
+    public static void startGrid() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", RemoteHttpClientsTest::handle);
+        server.start();
+        hubUrl = URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/")
+                .toURL();
+    }
+
+    @AfterAll
+    public static void stopGrid() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Сессии одного адреса Grid используют один клиент, и quit() его не закрывает")
+    public void testSessionsShareClient() {
+        RemoteHttpClients clients = RemoteHttpClients.getInstance();
+        HttpClient shared = clients.createClient(ClientConfig.defaultConfig().baseUrl(hubUrl));
+        clientPorts.clear();
+
+        RemoteWebDriver first = new RemoteWebDriver(clients.executor(hubUrl), new MutableCapabilities());
+        RemoteWebDriver second = new RemoteWebDriver(clients.executor(hubUrl), new MutableCapabilities());
+        assertNotEquals(first.getSessionId(), second.getSessionId());
+
+        first.quit();
+        assertEquals("about:blank", second.getCurrentUrl());
+        assertEquals(200, shared.execute(new HttpRequest(HttpMethod.GET, "/status")).getStatus());
+        second.quit();
+
+        assertSame(shared, clients.createClient(ClientConfig.defaultConfig().baseUrl(hubUrl)));
+        // последовательные запросы обеих сессий идут через одно keep-alive соединение общего клиента
+        assertEquals(1, clientPorts.size(), () -> "Connections opened: " + clientPorts);
+    }
+
+    @Test
+    @DisplayName("Время запросов учитывается по сессиям и сбрасывается после выдачи")
+    public void testMetricsPerSession() {
+        RemoteHttpClients clients = RemoteHttpClients.getInstance();
+        RemoteWebDriver first = new RemoteWebDriver(clients.executor(hubUrl), new MutableCapabilities());
+        RemoteWebDriver second = new RemoteWebDriver(clients.executor(hubUrl), new MutableCapabilities());
+        try {
+            first.getCurrentUrl();
+            first.getCurrentUrl();
+            second.getCurrentUrl();
+
+            assertEquals(2L, requestCount(clients.drainMetrics(first)));
+            assertEquals(1L, requestCount(clients.drainMetrics(second)));
+            assertTrue(clients.drainMetrics(first).isEmpty());
+
+            first.getCurrentUrl();
+            assertEquals(1L, requestCount(clients.drainMetrics(first)));
+        } finally {
+            first.quit();
+            second.quit();
+        }
+    }
+
+    private static long requestCount(Optional<String> summary) {
+        assertTrue(summary.isPresent(), "No requests recorded for the session");
+        Map<String, Object> metrics = new Json().toType(summary.get(), Json.MAP_TYPE);
+        return ((Number) metrics.get("count")).longValue();
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        exchange.getRequestBody().readAllBytes();
+        String path = exchange.getRequestURI().getPath();
+        String body;
+        if ("POST".equals(exchange.getRequestMethod()) && path.endsWith("/session")) {
+            String sessionId = "session-" + sessionCounter.incrementAndGet();
+            body = "{\"value\": {\"sessionId\": \"" + sessionId + "\", \"capabilities\": {\"browserName\": \"stub\"}}}";
+        } else if (path.endsWith("/url")) {
+            body = "{\"value\": \"about:blank\"}";
+        } else if (path.endsWith("/status")) {
+            body = "{\"value\": {\"ready\": true, \"message\": \"stub\"}}";
+        } else {
+            body = "{\"value\": null}";
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -23,6 +23,9 @@ public class SafariOptionsBuilder {
     private void setupDefaultOptions() {
         // Safari не поддерживает headless режим, поэтому игнорируем эту настройку
         
+        // Стратегия загрузки страниц
+        options.setPageLoadStrategy(BrowserFactory.pageLoadStrategy());
+        
         // Автоматическое заполнение форм
         options.setAutomaticInspection(false);
         options.setAutomaticProfiling(false);
@@ -2,7 +2,11 @@ package com.practice.ui.pages;
 
 import com.practice.ui.config.ConfigFactory;
 import com.practice.ui.core.BasePage;
+import com.practice.ui.server.SiteTarget;
 import com.practice.ui.utils.ElementUtils;
+import com.practice.ui.utils.LocatorRegistry;
+import com.practice.ui.utils.ReadinessProbe;
+import com.practice.ui.utils.ReadinessProbes;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
@@ -10,34 +14,64 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.ui.Select;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public class FormFieldsPage extends BasePage {
 
-	@FindBy(id = "name-input")
+	// одно значение локатора для поля @FindBy и для By, по которому заполняется форма
+	private static final String NAME_ID = "name-input";
+	private static final String PASSWORD_CSS = "input[type='password']";
+	private static final String MILK_ID = "drink2";
+	private static final String COFFEE_ID = "drink3";
+	private static final String YELLOW_ID = "color3";
+	private static final String AUTOMATION_ID = "automation";
+	private static final String EMAIL_ID = "email";
+	private static final String MESSAGE_ID = "message";
+	private static final String SUBMIT_XPATH = "//button[@data-testid='submit-btn']";
+
+	private static final By NAME_INPUT = LocatorRegistry.id(NAME_ID);
+	private static final By PASSWORD_INPUT = LocatorRegistry.css(PASSWORD_CSS);
+	private static final By MILK_CHECKBOX = LocatorRegistry.id(MILK_ID);
+	private static final By COFFEE_CHECKBOX = LocatorRegistry.id(COFFEE_ID);
+	private static final By YELLOW_RADIO = LocatorRegistry.id(YELLOW_ID);
+	private static final By AUTOMATION_SELECT = LocatorRegistry.id(AUTOMATION_ID);
+	private static final By EMAIL_INPUT = LocatorRegistry.id(EMAIL_ID);
+	private static final By MESSAGE_INPUT = LocatorRegistry.id(MESSAGE_ID);
+	private static final By SUBMIT_BUTTON = LocatorRegistry.xpath(SUBMIT_XPATH);
+
+	@FindBy(id = NAME_ID)
 	private WebElement nameField;
-	@FindBy(css = "input[type='password']")
+	@FindBy(css = PASSWORD_CSS)
 	private WebElement passwordField;
-	@FindBy(id = "drink2")
+	@FindBy(id = MILK_ID)
 	private WebElement milkCheckbox;
-	@FindBy(id = "drink3")
+	@FindBy(id = COFFEE_ID)
 	private WebElement coffeeCheckbox;
-	@FindBy(id = "color3")
+	@FindBy(id = YELLOW_ID)
 	private WebElement yellowRadio;
-	@FindBy(id = "automation")
-	private WebElement automationSelect;
-	@FindBy(id = "email")
+	@FindBy(id = EMAIL_ID)
 	private WebElement emailField;
-	@FindBy(id = "message")
+	@FindBy(id = MESSAGE_ID)
 	private WebElement messageField;
-	@FindBy(xpath = "//button[@data-testid='submit-btn']")
+	@FindBy(xpath = SUBMIT_XPATH)
 	private WebElement submitBtn;
 
 	public FormFieldsPage(WebDriver driver) {
 		super(driver);
 	}
 
+	/**
+	 * Форма готова к работе, как только отрисована кнопка отправки: картинки и сторонние скрипты не нужны
+	 */
+	@Override
+	protected ReadinessProbe readiness() {
+		return ReadinessProbes.element(SUBMIT_BUTTON);
+	}
+
 	@Step("Открыть страницу форм с полями")
 	public FormFieldsPage openFormPage() {
-		open(ConfigFactory.getBrowserConfig().formPageUrl());
+		open(SiteTarget.current().resolve(ConfigFactory.getBrowserConfig().formPageUrl()));
 		return this;
 	}
 
@@ -62,15 +96,16 @@ public class FormFieldsPage extends BasePage {
 
 	@Step("Выбираем цвет Yellow")
 	public FormFieldsPage selectYellowColor() {
-		ElementUtils.scrollToElement(driver, By.id("color3"));
-		ElementUtils.hoverOverElement(driver, By.id("color3"));
-		click(yellowRadio);
+		WebElement radio = waitForVisibility(yellowRadio);
+		ElementUtils.scrollToElement(driver, radio);
+		ElementUtils.hoverOverElement(driver, radio);
+		click(radio);
 		return this;
 	}
 
 	@Step("Выбираем {choose} в Do you like automation?")
 	public FormFieldsPage selectLikeAutomation(String choose) {
-		ElementUtils.selectByVisibleText(driver, By.id("automation"), choose);
+		ElementUtils.selectByVisibleText(driver, AUTOMATION_SELECT, choose);
 		return this;
 	}
 
@@ -86,11 +121,28 @@ public class FormFieldsPage extends BasePage {
 		return this;
 	}
 
+	@Step("Заполняем форму целиком")
+	public FormFieldsPage fillForm(String name, String password, String likeAutomation, String email,
+			String message) {
+		Map<By, Object> fields = new LinkedHashMap<>();
+		fields.put(NAME_INPUT, name);
+		fields.put(PASSWORD_INPUT, password);
+		fields.put(MILK_CHECKBOX, true);
+		fields.put(COFFEE_CHECKBOX, true);
+		fields.put(YELLOW_RADIO, true);
+		fields.put(AUTOMATION_SELECT, likeAutomation);
+		fields.put(EMAIL_INPUT, email);
+		fields.put(MESSAGE_INPUT, message);
+		fillFields(fields);
+		return this;
+	}
+
 	@Step("Нажимаем Submit")
 	public void submit() {
-		ElementUtils.scrollToElement(driver, By.id("submit-btn"));
-		ElementUtils.hoverOverElement(driver, By.id("submit-btn"));
-		click(submitBtn);
+		WebElement button = waitForVisibility(submitBtn);
+		ElementUtils.scrollToElement(driver, button);
+		ElementUtils.hoverOverElement(driver, button);
+		click(button);
 	}
 
 	@Step("Получаем текст алерта")
@@ -0,0 +1,24 @@
+package com.practice.ui.server;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Расширение JUnit, запускающее {@link LocalSiteServer} перед первым тестовым классом,
+ * если в конфигурации выбран локальный источник страниц ({@code site.target=local}).
+ * Сервер хранится в корневом хранилище JUnit и останавливается после завершения всех тестов
+ */
+public class LocalSiteExtension implements BeforeAllCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(LocalSiteExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (SiteTarget.current() != SiteTarget.LOCAL) {
+            return;
+        }
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(LocalSiteServer.class, key -> {
+            LocalSiteServer server = LocalSiteServer.getInstance().start();
+            return (ExtensionContext.Store.CloseableResource) server::stop;
+        });
+    }
+}
@@ -0,0 +1,222 @@
+package com.practice.ui.server;
+
+import com.practice.ui.config.BrowserConfig;
+import com.practice.ui.config.ConfigFactory;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Встроенный HTTP-сервер с локальной копией тестируемого сайта.
+ * Отдает ресурсы из каталога {@code site/} в classpath тестов, поэтому прогон не зависит от сети
+ * и доступности стороннего сайта. Для каждого ресурса можно задать искусственную задержку
+ * и ограничение скорости ({@code site.local.*}), чтобы моделировать медленный сайт управляемо
+ */
+public class LocalSiteServer {
+    private static final Logger logger = LoggerFactory.getLogger(LocalSiteServer.class);
+    private static final BrowserConfig config = ConfigFactory.getBrowserConfig();
+    private static final LocalSiteServer INSTANCE = new LocalSiteServer();
+    private static final String ROOT = "/site";
+    private static final int CHUNKS_PER_SECOND = 10;
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "html", "text/html; charset=utf-8",
+            "css", "text/css; charset=utf-8",
+            "js", "application/javascript; charset=utf-8",
+            "json", "application/json; charset=utf-8",
+            "svg", "image/svg+xml",
+            "png", "image/png",
+            "jpg", "image/jpeg",
+            "ico", "image/x-icon");
+
+    private final Map<String, Optional<byte[]>> resources = new ConcurrentHashMap<>();
+    private final List<ResourceRule> rules;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    private LocalSiteServer() {
+        this.rules = Arrays.stream(config.siteLocalRules())
+                .filter(rule -> !rule.isBlank())
+                .map(ResourceRule::parse)
+                .toList();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop, "local-site-shutdown"));
+    }
+
+    /**
+     * Получить общий локальный сервер
+     * @return локальный сервер
+     */
+    public static LocalSiteServer getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Запустить сервер, если он еще не запущен
+     * @return этот сервер
+     */
+    public synchronized LocalSiteServer start() {
+        if (server != null) {
+            return this;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), config.siteLocalPort()), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start local site server", e);
+        }
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "local-site");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        logger.info("Local site server started at {} (latency {} ms, bandwidth {} kbps, {} rule(s))",
+                baseUrl(), config.siteLocalLatency(), config.siteLocalBandwidth(), rules.size());
+        return this;
+    }
+
+    /**
+     * Остановить сервер
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        executor = null;
+        logger.info("Local site server stopped");
+    }
+
+    /**
+     * Получить базовый адрес сервера
+     * @return адрес вида {@code http://127.0.0.1:port}
+     */
+    public synchronized String baseUrl() {
+        if (server == null) {
+            throw new IllegalStateException("Local site server is not started");
+        }
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getAddress().getHostAddress() + ":" + address.getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            String path = URI.create(exchange.getRequestURI().getRawPath()).normalize().getPath();
+            if (path.contains("..")) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            if (!path.endsWith("/") && load(path).isEmpty() && load(path + "/index.html").isPresent()) {
+                exchange.getResponseHeaders().set("Location", path + "/");
+                exchange.sendResponseHeaders(301, -1);
+                return;
+            }
+            String resourcePath = path.endsWith("/") ? path + "index.html" : path;
+            Optional<byte[]> body = load(resourcePath);
+            ResourceRule rule = ruleFor(path);
+            sleep(rule.latencyMillis());
+            if (body.isEmpty()) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", contentType(resourcePath));
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            byte[] bytes = body.get();
+            exchange.sendResponseHeaders(200, bytes.length);
+            write(exchange.getResponseBody(), bytes, rule.bandwidthKbps());
+        }
+    }
+
+    private Optional<byte[]> load(String path) {
+        return resources.computeIfAbsent(path, key -> {
+            URL url = LocalSiteServer.class.getResource(ROOT + key);
+            if (url == null || isDirectory(url)) {
+                return Optional.empty();
+            }
+            try (InputStream in = url.openStream()) {
+                return Optional.of(in.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read site resource " + key, e);
+            }
+        });
+    }
+
+    private static boolean isDirectory(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return url.getPath().endsWith("/");
+        }
+        try {
+            return Files.isDirectory(Paths.get(url.toURI()));
+        } catch (URISyntaxException e) {
+            return false;
+        }
+    }
+
+    private ResourceRule ruleFor(String path) {
+        return rules.stream()
+                .filter(rule -> rule.matches(path))
+                .findFirst()
+                .orElseGet(() -> new ResourceRule("**", config.siteLocalLatency(), config.siteLocalBandwidth()));
+    }
+
+    private void write(OutputStream out, byte[] bytes, int bandwidthKbps) throws IOException {
+        if (bandwidthKbps <= 0) {
+            out.write(bytes);
+            return;
+        }
+        int chunk = Math.max(1, bandwidthKbps * 1000 / 8 / CHUNKS_PER_SECOND);
+        for (int offset = 0; offset < bytes.length; offset += chunk) {
+            out.write(bytes, offset, Math.min(chunk, bytes.length - offset));
+            out.flush();
+            sleep(1000 / CHUNKS_PER_SECOND);
+        }
+    }
+
+    private static String contentType(String path) {
+        int dot = path.lastIndexOf('.');
+        String extension = dot < 0 ? "" : path.substring(dot + 1).toLowerCase();
+        return CONTENT_TYPES.getOrDefault(extension, "application/octet-stream");
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.practice.ui.server;
+
+import java.nio.file.FileSystems;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+
+/**
+ * Правило искусственной задержки и ограничения пропускной способности для ресурсов локального сайта.
+ * Формат записи в конфигурации: {@code glob:задержка_мс[:скорость_кбит_с]}, например {@code **.js:200:512}
+ * @param pattern glob-шаблон пути запроса
+ * @param latencyMillis задержка перед ответом в миллисекундах
+ * @param bandwidthKbps скорость отдачи тела ответа в килобитах в секунду, 0 - без ограничения
+ */
+public record ResourceRule(String pattern, long latencyMillis, int bandwidthKbps) {
+
+    /**
+     * Разобрать правило из конфигурации
+     * @param value запись правила
+     * @return правило
+     */
+    public static ResourceRule parse(String value) {
+        String[] parts = value.trim().split(":");
+        if (parts.length < 2 || parts.length > 3) {
+            throw new IllegalArgumentException("Invalid resource rule, expected glob:latencyMs[:kbps]: " + value);
+        }
+        try {
+            long latency = Long.parseLong(parts[1].trim());
+            int bandwidth = parts.length == 3 ? Integer.parseInt(parts[2].trim()) : 0;
+            return new ResourceRule(parts[0].trim(), latency, bandwidth);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid resource rule, expected glob:latencyMs[:kbps]: " + value, e);
+        }
+    }
+
+    /**
+     * Проверить, относится ли правило к пути запроса
+     * @param path путь запроса, например {@code /form-fields/form.js}
+     * @return true, если путь соответствует шаблону
+     */
+    public boolean matches(String path) {
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+        return matcher.matches(Paths.get(path));
+    }
+}
@@ -0,0 +1,46 @@
+package com.practice.ui.server;
+
+import com.practice.ui.config.ConfigFactory;
+
+import java.net.URI;
+
+/**
+ * Источник тестируемых страниц: живой сайт или локальная копия на {@link LocalSiteServer}
+ */
+public enum SiteTarget {
+    LIVE,
+    LOCAL;
+
+    /**
+     * Получить источник страниц из конфигурации ({@code site.target})
+     * @return источник страниц
+     */
+    public static SiteTarget current() {
+        return fromString(ConfigFactory.getBrowserConfig().siteTarget());
+    }
+
+    public static SiteTarget fromString(String value) {
+        for (SiteTarget target : values()) {
+            if (target.name().equalsIgnoreCase(value)) {
+                return target;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported site target: " + value);
+    }
+
+    /**
+     * Преобразовать адрес страницы живого сайта в адрес для текущего источника.
+     * Для локальной копии сохраняются путь и параметры запроса, а хост заменяется адресом локального сервера
+     * @param liveUrl адрес страницы на живом сайте
+     * @return адрес страницы
+     */
+    public String resolve(String liveUrl) {
+        if (this == LIVE) {
+            return liveUrl;
+        }
+        URI uri = URI.create(liveUrl);
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        String query = uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery();
+        return LocalSiteServer.getInstance().start().baseUrl() + path + query;
+    }
+}
@@ -0,0 +1,118 @@
+package com.practice.ui.telemetry;
+
+import com.practice.ui.config.BrowserConfig;
+import com.practice.ui.config.ConfigFactory;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Телеметрия задержек WebDriver: гистограммы по командам, локаторам и методам page object.
+ * Измерения копятся одновременно в сводке всего прогона и в сводке текущего теста (по потоку теста).
+ * Сводка прогона записывается в JSON при завершении JVM. Включается свойством {@code telemetry.enabled}
+ */
+public class DriverTelemetry {
+    private static final Logger logger = LoggerFactory.getLogger(DriverTelemetry.class);
+    private static final BrowserConfig config = ConfigFactory.getBrowserConfig();
+    private static final DriverTelemetry INSTANCE = new DriverTelemetry();
+
+    private final TelemetryRecorder suite = new TelemetryRecorder();
+    private final ThreadLocal<TelemetryRecorder> currentTest = new ThreadLocal<>();
+    private final AtomicInteger tests = new AtomicInteger();
+    private final TelemetryListener listener = new TelemetryListener(this);
+
+    private DriverTelemetry() {
+        if (isEnabled()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::writeReport, "driver-telemetry-report"));
+        }
+    }
+
+    /**
+     * Получить общий сборщик телеметрии
+     * @return сборщик телеметрии
+     */
+    public static DriverTelemetry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Проверить, включена ли телеметрия
+     * @return true, если телеметрия включена в конфигурации
+     */
+    public static boolean isEnabled() {
+        return config.isTelemetryEnabled();
+    }
+
+    /**
+     * Обернуть драйвер слушателем, замеряющим каждую команду.
+     * Обертка не равна исходному драйверу в смысле {@code equals}, поэтому пул и прогрев
+     * должны получать обратно исходный экземпляр
+     * @param driver исходный драйвер
+     * @return драйвер с телеметрией
+     */
+    public WebDriver instrument(WebDriver driver) {
+        return new EventFiringDecorator<>(listener).decorate(driver);
+    }
+
+    /**
+     * Начать сбор сводки для теста в текущем потоке
+     */
+    public void startTest() {
+        currentTest.set(new TelemetryRecorder());
+        tests.incrementAndGet();
+    }
+
+    /**
+     * Завершить сбор сводки для теста в текущем потоке
+     * @return сводка теста в виде JSON или null, если измерений не было
+     */
+    public String finishTest() {
+        TelemetryRecorder recorder = currentTest.get();
+        currentTest.remove();
+        if (recorder == null || recorder.isEmpty()) {
+            return null;
+        }
+        return new Json().toJson(recorder.toMap());
+    }
+
+    void record(TelemetryCategory category, String key, long nanos) {
+        suite.record(category, key, nanos);
+        TelemetryRecorder recorder = currentTest.get();
+        if (recorder != null) {
+            recorder.record(category, key, nanos);
+        }
+    }
+
+    private void writeReport() {
+        if (suite.isEmpty()) {
+            return;
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("browser", config.browserType());
+        report.put("tests", tests.get());
+        report.putAll(suite.toMap());
+        Path path = Paths.get(config.telemetryReportPath());
+        try {
+            if (path.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+            }
+            Files.writeString(path, new Json().toJson(report), StandardCharsets.UTF_8);
+            logger.info("Driver telemetry report written to {}", path.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Failed to write driver telemetry report {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.practice.ui.telemetry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Гистограмма задержек с фиксированными границами корзин в миллисекундах.
+ * Процентили оцениваются по верхней границе корзины, в которую они попадают
+ */
+public class LatencyHistogram {
+    private static final long[] BOUNDS_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000};
+
+    private final long[] buckets = new long[BOUNDS_MILLIS.length + 1];
+    private long count;
+    private long totalNanos;
+    private long minNanos = Long.MAX_VALUE;
+    private long maxNanos;
+
+    /**
+     * Учесть одно измерение
+     * @param nanos длительность в наносекундах
+     */
+    public synchronized void record(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int index = 0;
+        while (index < BOUNDS_MILLIS.length && millis > BOUNDS_MILLIS[index]) {
+            index++;
+        }
+        buckets[index]++;
+        count++;
+        totalNanos += nanos;
+        minNanos = Math.min(minNanos, nanos);
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    public synchronized long count() {
+        return count;
+    }
+
+    public synchronized long totalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Представить гистограмму в виде карты для JSON-отчета
+     * @return количество, суммарное, среднее, минимальное и максимальное время, процентили и корзины
+     */
+    public synchronized Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", count);
+        map.put("totalMs", toMillis(totalNanos));
+        map.put("meanMs", count == 0 ? 0.0 : toMillis(totalNanos / count));
+        map.put("minMs", count == 0 ? 0.0 : toMillis(minNanos));
+        map.put("maxMs", toMillis(maxNanos));
+        map.put("p50Ms", percentile(0.50));
+        map.put("p90Ms", percentile(0.90));
+        map.put("p99Ms", percentile(0.99));
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] > 0) {
+                String label = i < BOUNDS_MILLIS.length ? "<=" + BOUNDS_MILLIS[i] + "ms" : ">" + BOUNDS_MILLIS[i - 1] + "ms";
+                distribution.put(label, buckets[i]);
+            }
+        }
+        map.put("buckets", distribution);
+        return map;
+    }
+
+    private double percentile(double quantile) {
+        if (count == 0) {
+            return 0.0;
+        }
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS_MILLIS.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(BOUNDS_MILLIS[i], toMillis(maxNanos));
+            }
+        }
+        return toMillis(maxNanos);
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
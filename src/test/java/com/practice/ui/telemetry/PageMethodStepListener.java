@@ -0,0 +1,78 @@
+package com.practice.ui.telemetry;
+
+import com.practice.ui.core.BasePage;
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.StepResult;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+
+/**
+ * Слушатель Allure, замеряющий длительность методов page object, помеченных {@code @Step}.
+ * Метод определяется по стеку вызовов в момент начала шага: ближайший к Allure кадр прикладного кода.
+ * Замер записывается, только если этот кадр принадлежит наследнику {@link BasePage}, то есть шагом помечен
+ * сам метод страницы; вложенные шаги утилит, вызванные из метода страницы, не учитываются.
+ * Регистрируется через {@code META-INF/services/io.qameta.allure.listener.LifecycleListener}
+ */
+public class PageMethodStepListener implements StepLifecycleListener {
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    /**
+     * Суффикс, который AspectJ добавляет к телу метода при вплетении around-совета
+     */
+    private static final String WOVEN_BODY_SUFFIX = "_aroundBody";
+
+    private final ThreadLocal<Deque<StepFrame>> frames = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeStepStart(StepResult result) {
+        if (!DriverTelemetry.isEnabled()) {
+            return;
+        }
+        frames.get().push(new StepFrame(pageMethod().orElse(null), System.nanoTime()));
+    }
+
+    @Override
+    public void afterStepStop(StepResult result) {
+        StepFrame frame = frames.get().poll();
+        if (frame != null && frame.pageMethod != null) {
+            DriverTelemetry.getInstance().record(TelemetryCategory.PAGE_METHOD, frame.pageMethod,
+                    System.nanoTime() - frame.startNanos);
+        }
+    }
+
+    private static Optional<String> pageMethod() {
+        return WALKER.walk(stack -> stack
+                .filter(frame -> !isInfrastructure(frame.getDeclaringClass()))
+                .findFirst()
+                .filter(frame -> BasePage.class.isAssignableFrom(frame.getDeclaringClass()))
+                .map(frame -> frame.getDeclaringClass().getSimpleName() + "." + methodName(frame.getMethodName())));
+    }
+
+    /**
+     * Кадры Allure, AspectJ, JDK и самого слушателя, через которые проходит уведомление о начале шага
+     */
+    private static boolean isInfrastructure(Class<?> type) {
+        String name = type.getName();
+        return type == PageMethodStepListener.class
+                || name.startsWith("io.qameta.allure.")
+                || name.startsWith("org.aspectj.")
+                || name.startsWith("java.")
+                || name.startsWith("jdk.");
+    }
+
+    private static String methodName(String name) {
+        int woven = name.indexOf(WOVEN_BODY_SUFFIX);
+        return woven > 0 ? name.substring(0, woven) : name;
+    }
+
+    private static final class StepFrame {
+        private final String pageMethod;
+        private final long startNanos;
+
+        private StepFrame(String pageMethod, long startNanos) {
+            this.pageMethod = pageMethod;
+            this.startNanos = startNanos;
+        }
+    }
+}
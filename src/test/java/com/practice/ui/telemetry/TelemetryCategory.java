@@ -0,0 +1,29 @@
+package com.practice.ui.telemetry;
+
+/**
+ * Разрез, в котором накапливается телеметрия
+ */
+public enum TelemetryCategory {
+    /**
+     * Команда WebDriver, например {@code WebElement.click}
+     */
+    COMMAND("commands"),
+    /**
+     * Локатор в вызовах findElement/findElements
+     */
+    LOCATOR("locators"),
+    /**
+     * Метод page object, помеченный {@code @Step}
+     */
+    PAGE_METHOD("pageMethods");
+
+    private final String reportKey;
+
+    TelemetryCategory(String reportKey) {
+        this.reportKey = reportKey;
+    }
+
+    public String getReportKey() {
+        return reportKey;
+    }
+}
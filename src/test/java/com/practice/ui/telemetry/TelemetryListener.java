@@ -0,0 +1,78 @@
+package com.practice.ui.telemetry;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+
+/**
+ * Слушатель {@link org.openqa.selenium.support.events.EventFiringDecorator}, замеряющий
+ * задержку каждой команды WebDriver и каждого поиска элемента по локатору
+ */
+class TelemetryListener implements WebDriverListener {
+    /**
+     * Вызовы, которые выполняются локально и не обращаются к драйверу
+     */
+    private static final Set<String> LOCAL_METHODS = Set.of("manage", "navigate", "switchTo", "timeouts", "window",
+            "logs", "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals");
+
+    private final DriverTelemetry telemetry;
+    private final ThreadLocal<Deque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    TelemetryListener(DriverTelemetry telemetry) {
+        this.telemetry = telemetry;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!LOCAL_METHODS.contains(method.getName())) {
+            starts.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(target, method, args);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(target, method, args);
+    }
+
+    private void finish(Object target, Method method, Object[] args) {
+        if (LOCAL_METHODS.contains(method.getName())) {
+            return;
+        }
+        Long start = starts.get().poll();
+        if (start == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        telemetry.record(TelemetryCategory.COMMAND, commandName(target, method), elapsed);
+        if (method.getName().startsWith("findElement") && args != null && args.length > 0 && args[0] instanceof By) {
+            telemetry.record(TelemetryCategory.LOCATOR, args[0].toString(), elapsed);
+        }
+    }
+
+    private static String commandName(Object target, Method method) {
+        String owner;
+        if (target instanceof WebElement) {
+            owner = "WebElement";
+        } else if (target instanceof WebDriver) {
+            owner = "WebDriver";
+        } else if (target instanceof Alert) {
+            owner = "Alert";
+        } else {
+            owner = method.getDeclaringClass().getSimpleName();
+        }
+        return owner + "." + method.getName();
+    }
+}
@@ -0,0 +1,56 @@
+package com.practice.ui.telemetry;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Набор гистограмм задержек по категориям и ключам (команда, локатор, метод страницы)
+ */
+public class TelemetryRecorder {
+    private final Map<TelemetryCategory, Map<String, LatencyHistogram>> histograms = new EnumMap<>(TelemetryCategory.class);
+
+    public TelemetryRecorder() {
+        for (TelemetryCategory category : TelemetryCategory.values()) {
+            histograms.put(category, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Учесть измерение
+     * @param category категория
+     * @param key ключ внутри категории
+     * @param nanos длительность в наносекундах
+     */
+    public void record(TelemetryCategory category, String key, long nanos) {
+        histograms.get(category).computeIfAbsent(key, k -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Проверить, есть ли измерения
+     * @return true, если ничего не записано
+     */
+    public boolean isEmpty() {
+        return histograms.values().stream().allMatch(Map::isEmpty);
+    }
+
+    /**
+     * Представить телеметрию в виде карты для JSON-отчета.
+     * Внутри категории ключи отсортированы по убыванию суммарного времени
+     * @return карта категория → ключ → гистограмма
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        histograms.forEach((category, byKey) -> {
+            Map<String, Object> sorted = new LinkedHashMap<>();
+            byKey.entrySet().stream()
+                    .sorted(Comparator.comparingLong(
+                            (Map.Entry<String, LatencyHistogram> entry) -> entry.getValue().totalNanos()).reversed())
+                    .forEach(entry -> sorted.put(entry.getKey(), entry.getValue().toMap()));
+            map.put(category.getReportKey(), sorted);
+        });
+        return map;
+    }
+}
@@ -5,17 +5,21 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import com.practice.ui.core.BaseTest;
 import com.practice.ui.pages.FormFieldsPage;
+import com.practice.ui.utils.ElementUtils;
+import com.practice.ui.utils.LocatorRegistry;
 import java.util.Comparator;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.openqa.selenium.By;
-import org.openqa.selenium.WebElement;
 
 @Tag("FormPageTest")
 public class FormTest extends BaseTest {
 
+	private static final By AUTOMATION_TOOLS =
+			LocatorRegistry.xpath("//label[.='Automation tools']/following-sibling::ul//li");
+
 	@Test
 	@DisplayName("Заполнение и отправка формы")
 	public void testFormSubmission() {
@@ -23,10 +27,9 @@ public class FormTest extends BaseTest {
 
 		formFieldsPage.openFormPage();
 
-		List<WebElement> toolElements = driver.findElements(
-				By.xpath("//label[.='Automation tools']/following-sibling::ul//li"));
-		int toolsCount = toolElements.size();
-		String longestTool = toolElements.stream().map(WebElement::getText)
+		List<String> tools = ElementUtils.getElementsTexts(driver, AUTOMATION_TOOLS);
+		int toolsCount = tools.size();
+		String longestTool = tools.stream()
 				.max(Comparator.comparingInt(String::length)).orElse("");
 
 		formFieldsPage.enterName("Name").enterPassword("Password").selectDrinks()
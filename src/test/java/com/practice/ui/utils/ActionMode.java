@@ -0,0 +1,30 @@
+package com.practice.ui.utils;
+
+/**
+ * Способ выполнения действий с элементами в {@link ElementUtils}
+ */
+public enum ActionMode {
+    /**
+     * Классические команды WebDriver по HTTP
+     */
+    CLASSIC,
+    /**
+     * Для Chromium-браузеров действия выполняются через постоянное соединение DevTools,
+     * для остальных браузеров и в нештатных ситуациях — классическими командами
+     */
+    CDP;
+
+    /**
+     * Получить способ выполнения действий из строки
+     * @param name название способа
+     * @return способ выполнения действий
+     */
+    public static ActionMode fromString(String name) {
+        for (ActionMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(name)) {
+                return mode;
+            }
+        }
+        return CLASSIC;
+    }
+}
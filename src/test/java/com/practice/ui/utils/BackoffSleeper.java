@@ -0,0 +1,27 @@
+package com.practice.ui.utils;
+
+import org.openqa.selenium.support.ui.Sleeper;
+
+import java.time.Duration;
+
+/**
+ * Пауза между опросами с нарастающим интервалом: первые проверки идут часто,
+ * поздние реже. Интервал, переданный {@link org.openqa.selenium.support.ui.FluentWait}, игнорируется.
+ * Экземпляр хранит состояние, поэтому создается заново для каждого ожидания
+ */
+public class BackoffSleeper implements Sleeper {
+    private final long maxMillis;
+    private long nextMillis;
+
+    public BackoffSleeper(long initialMillis, long maxMillis) {
+        this.nextMillis = Math.max(1, initialMillis);
+        this.maxMillis = Math.max(this.nextMillis, maxMillis);
+    }
+
+    @Override
+    public void sleep(Duration duration) throws InterruptedException {
+        long current = nextMillis;
+        nextMillis = Math.min(maxMillis, nextMillis * 2);
+        Thread.sleep(current);
+    }
+}
@@ -0,0 +1,369 @@
+package com.practice.ui.utils;
+
+import com.practice.ui.config.ConfigFactory;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.idealized.target.model.SessionID;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+/**
+ * Быстрый путь {@link ElementUtils} для Chromium-браузеров: поиск элемента, проверка его состояния
+ * и прокрутка выполняются одним {@code Runtime.evaluate}, а клики, наведение и ввод текста —
+ * событиями {@code Input.*} через постоянное соединение DevTools, без HTTP-запросов к драйверу.
+ * <p>
+ * Каждый метод возвращает false или пустой Optional, если быстрый путь неприменим: браузер без DevTools,
+ * элемент еще не найден, не видим, недоступен или перекрыт, текст содержит служебные клавиши.
+ * Тогда вызывающий код выполняет действие классическими командами с обычными ожиданиями.
+ * <p>
+ * Быстрый путь работает с документом верхнего уровня во вкладке, к которой подключена сессия DevTools
+ * (вкладка, открытая при создании драйвера, или вкладка контекста из {@code BrowserContextPool}).
+ * Драйвер теста оборачивается через {@link #track(WebDriver)}: переключения {@code switchTo()} запоминаются
+ * без запросов к драйверу, и пока драйвер находится во фрейме или в другом окне, действия выполняются
+ * классическими командами. Для драйверов без обертки быстрый путь не используется
+ */
+final class CdpActions {
+    private static final Logger logger = LoggerFactory.getLogger(CdpActions.class);
+    private static final ActionMode MODE = ActionMode.fromString(ConfigFactory.getBrowserConfig().elementActionsMode());
+    private static final Json JSON = new Json();
+    private static final Map<WebDriver, Session> sessions = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<WebDriver, BrowsingContext> contexts = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final String HELPERS = JsLocator.FIND_ALL_FUNCTION + """
+            function visible(el) {
+              var style = window.getComputedStyle(el);
+              if (style.display === 'none' || style.visibility === 'hidden' || style.opacity === '0') { return false; }
+              var rect = el.getBoundingClientRect();
+              return rect.width > 0 && rect.height > 0;
+            }
+            function point(el, strict) {
+              var rect = el.getBoundingClientRect();
+              if (rect.top < 0 || rect.left < 0 || rect.bottom > window.innerHeight || rect.right > window.innerWidth) {
+                el.scrollIntoView({block: 'center', inline: 'center'});
+                rect = el.getBoundingClientRect();
+              }
+              var x = rect.left + rect.width / 2, y = rect.top + rect.height / 2;
+              if (strict) {
+                var hit = document.elementFromPoint(x, y);
+                if (!hit || (hit !== el && !el.contains(hit) && !(el.labels && Array.prototype.some.call(el.labels,
+                    function (label) { return label === hit || label.contains(hit); })))) { return null; }
+              }
+              return {x: x, y: y};
+            }
+            """;
+    private static final String CLICK = """
+            if (!visible(el) || el.disabled) { return null; }
+            return point(el, true);
+            """;
+    private static final String HOVER = """
+            if (!visible(el)) { return null; }
+            return point(el, false);
+            """;
+    private static final String SCROLL = """
+            el.scrollIntoView(true);
+            return {};
+            """;
+    private static final String FOCUS_AND_CLEAR = """
+            var tag = el.tagName.toLowerCase();
+            if ((tag !== 'input' && tag !== 'textarea') || !visible(el) || el.disabled || el.readOnly) { return null; }
+            // Input.insertText работает только с текстовыми полями: файлы, флажки, даты и т.п. вводятся классически
+            var textTypes = ['text', 'search', 'email', 'url', 'tel', 'password', 'number'];
+            if (tag === 'input' && textTypes.indexOf(el.type) < 0) { return null; }
+            if (tag !== 'textarea' && arg.indexOf('\\n') >= 0) { return null; }
+            el.focus();
+            var descriptor = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(el), 'value');
+            if (descriptor && descriptor.set) { descriptor.set.call(el, ''); } else { el.value = ''; }
+            el.dispatchEvent(new Event('input', {bubbles: true}));
+            el.dispatchEvent(new Event('change', {bubbles: true}));
+            return {};
+            """;
+    private static final String TEXT = """
+            if (!visible(el)) { return null; }
+            return {value: (el.innerText || '').replace(/\\u00a0/g, ' ').trim()};
+            """;
+    private static final String ATTRIBUTE = """
+            var name = arg.toLowerCase(), value;
+            var booleans = ['checked', 'selected', 'disabled', 'readonly', 'required', 'multiple', 'hidden',
+              'autofocus', 'autoplay', 'controls', 'defer', 'loop', 'muted', 'novalidate', 'open'];
+            if (name === 'value' && el.value !== undefined) { value = el.value; }
+            else if (name === 'checked' || name === 'selected') { value = el[name] ? 'true' : null; }
+            else if (booleans.indexOf(name) >= 0) { value = el.hasAttribute(name) ? 'true' : null; }
+            else if ((name === 'href' || name === 'src') && el[name]) { value = el[name]; }
+            else { value = el.getAttribute(arg); }
+            return value === null || value === undefined ? null : {value: String(value)};
+            """;
+
+    private CdpActions() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Кликнуть по элементу событиями мыши в центре элемента
+     * @return true, если клик выполнен
+     */
+    static boolean click(WebDriver driver, By locator) {
+        return session(driver).flatMap(session -> session.evaluate(locator, CLICK, null)
+                        .map(point -> session.mouse("mouseMoved", point, 0)
+                                && session.mouse("mousePressed", point, 1)
+                                && session.mouse("mouseReleased", point, 1)))
+                .orElse(false);
+    }
+
+    /**
+     * Навести курсор на центр элемента
+     * @return true, если курсор наведен
+     */
+    static boolean hover(WebDriver driver, By locator) {
+        return session(driver).flatMap(session -> session.evaluate(locator, HOVER, null)
+                        .map(point -> session.mouse("mouseMoved", point, 0)))
+                .orElse(false);
+    }
+
+    /**
+     * Прокрутить страницу к элементу
+     * @return true, если прокрутка выполнена
+     */
+    static boolean scrollTo(WebDriver driver, By locator) {
+        return session(driver).flatMap(session -> session.evaluate(locator, SCROLL, null)).isPresent();
+    }
+
+    /**
+     * Очистить поле ввода и вставить текст.
+     * Текст вставляется целиком через {@code Input.insertText}: генерируются события input,
+     * но не keydown/keyup для каждого символа
+     * @return true, если текст введен
+     */
+    static boolean sendKeys(WebDriver driver, By locator, String text) {
+        if (text.chars().anyMatch(c -> c >= '\uE000' && c <= '\uF8FF')) {
+            // служебные клавиши из Keys вводятся только классическим путем
+            return false;
+        }
+        return session(driver).flatMap(session -> session.evaluate(locator, FOCUS_AND_CLEAR, text)
+                        .map(ignored -> session.send("Input.insertText", Map.of("text", text))))
+                .orElse(false);
+    }
+
+    /**
+     * Получить видимый текст элемента
+     * @return текст или пустой Optional, если элемент не найден или не видим
+     */
+    static Optional<String> getText(WebDriver driver, By locator) {
+        return session(driver).flatMap(session -> session.evaluate(locator, TEXT, null))
+                .map(result -> String.valueOf(result.get("value")));
+    }
+
+    /**
+     * Получить значение атрибута или свойства элемента
+     * @return значение или пустой Optional, если элемент не найден или значения нет
+     */
+    static Optional<String> getAttribute(WebDriver driver, By locator, String attribute) {
+        return session(driver).flatMap(session -> session.evaluate(locator, ATTRIBUTE, attribute))
+                .map(result -> String.valueOf(result.get("value")));
+    }
+
+    /**
+     * Обернуть драйвер теста слушателем переключений окон и фреймов.
+     * Текущее окно драйвера запрашивается один раз после обертки и после каждого {@code switchTo().window()}
+     * @return обертка драйвера или исходный драйвер, если быстрый путь неприменим
+     */
+    static WebDriver track(WebDriver driver) {
+        WebDriver original = unwrap(driver);
+        if (!isApplicable(original)) {
+            return driver;
+        }
+        BrowsingContext context = new BrowsingContext();
+        contexts.put(original, context);
+        return new EventFiringDecorator<>(context).decorate(driver);
+    }
+
+    private static Optional<Session> session(WebDriver driver) {
+        WebDriver original = unwrap(driver);
+        if (!isApplicable(original)) {
+            return Optional.empty();
+        }
+        BrowsingContext context = contexts.get(original);
+        if (context == null || context.frameDepth > 0) {
+            return Optional.empty();
+        }
+        Session session = sessions.computeIfAbsent(original, Session::open);
+        if (session.disabled) {
+            return Optional.empty();
+        }
+        // для ChromeDriver дескриптор окна совпадает с идентификатором цели DevTools
+        Optional<String> targetId = session.targetId();
+        if (targetId.isEmpty() || !targetId.get().equals(context.windowHandle(original))) {
+            return Optional.empty();
+        }
+        return Optional.of(session);
+    }
+
+    private static boolean isApplicable(WebDriver original) {
+        // HasDevTools реализует и FirefoxDriver, домены Input и Target есть только у Chromium-драйверов
+        return MODE == ActionMode.CDP && original instanceof HasCdp && original instanceof HasDevTools;
+    }
+
+    private static WebDriver unwrap(WebDriver driver) {
+        WebDriver original = driver;
+        while (original instanceof WrapsDriver) {
+            original = ((WrapsDriver) original).getWrappedDriver();
+        }
+        return original;
+    }
+
+    /**
+     * Окно и глубина фрейма, в которые переключен драйвер теста
+     */
+    private static final class BrowsingContext implements WebDriverListener {
+        private volatile String windowHandle;
+        private volatile int frameDepth;
+
+        private String windowHandle(WebDriver original) {
+            String handle = windowHandle;
+            if (handle == null) {
+                handle = original.getWindowHandle();
+                windowHandle = handle;
+            }
+            return handle;
+        }
+
+        @Override
+        public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+            if (!(target instanceof WebDriver.TargetLocator)) {
+                return;
+            }
+            switch (method.getName()) {
+                case "frame" -> frameDepth++;
+                case "parentFrame" -> frameDepth = Math.max(0, frameDepth - 1);
+                case "defaultContent" -> frameDepth = 0;
+                case "window", "newWindow" -> {
+                    frameDepth = 0;
+                    // аргументом может быть имя окна, а не дескриптор: окно уточняется при следующем действии
+                    windowHandle = null;
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    /**
+     * Сессия DevTools одного драйвера. Цель, к которой подключено соединение, определяется заново,
+     * когда соединение переподключается к другой вкладке (например, к вкладке нового контекста
+     * в {@code BrowserContextPool})
+     */
+    private static final class Session {
+        private final DevTools devTools;
+        private volatile AttachedTarget target;
+        private volatile boolean disabled;
+
+        private Session(DevTools devTools) {
+            this.devTools = devTools;
+        }
+
+        private static Session open(WebDriver driver) {
+            try {
+                DevTools devTools = ((HasDevTools) driver).getDevTools();
+                devTools.createSessionIfThereIsNotOne();
+                return new Session(devTools);
+            } catch (WebDriverException e) {
+                logger.warn("DevTools fast path is unavailable, using classic commands: {}", e.getMessage());
+                Session session = new Session(null);
+                session.disabled = true;
+                return session;
+            }
+        }
+
+        private Optional<String> targetId() {
+            SessionID cdpSession = devTools.getCdpSession();
+            AttachedTarget attached = target;
+            if (attached != null && attached.cdpSession().toString().equals(String.valueOf(cdpSession))) {
+                return Optional.of(attached.targetId());
+            }
+            try {
+                Map<?, ?> info = devTools.send(new Command<>("Target.getTargetInfo", Collections.emptyMap(),
+                        input -> input.read(Json.MAP_TYPE)));
+                String targetId = String.valueOf(((Map<?, ?>) info.get("targetInfo")).get("targetId"));
+                target = new AttachedTarget(cdpSession, targetId);
+                logger.debug("DevTools fast path attached to target {}", targetId);
+                return Optional.of(targetId);
+            } catch (WebDriverException | ClassCastException e) {
+                disabled = true;
+                logger.warn("Failed to resolve DevTools target, switching to classic commands: {}", e.getMessage());
+                return Optional.empty();
+            }
+        }
+
+        private Optional<Map<?, ?>> evaluate(By locator, String body, String arg) {
+            Optional<JsLocator> jsLocator = JsLocator.from(locator);
+            if (jsLocator.isEmpty()) {
+                return Optional.empty();
+            }
+            String expression = "(function (strategy, value, arg) {\n" + HELPERS
+                    + "var found = __findAll(strategy, value);\n"
+                    + "if (!found.length) { return null; }\n"
+                    + "var el = found[0];\n" + body + "})("
+                    + JSON.toJson(jsLocator.get().strategy()) + ", " + JSON.toJson(jsLocator.get().value()) + ", "
+                    + JSON.toJson(arg) + ")";
+            try {
+                Map<?, ?> response = devTools.send(new Command<>("Runtime.evaluate",
+                        Map.of("expression", expression, "returnByValue", true),
+                        input -> input.read(Json.MAP_TYPE)));
+                if (response.get("exceptionDetails") != null) {
+                    logger.debug("DevTools fast path script failed for {}: {}", locator, response.get("exceptionDetails"));
+                    return Optional.empty();
+                }
+                Object value = ((Map<?, ?>) response.get("result")).get("value");
+                return value instanceof Map ? Optional.of((Map<?, ?>) value) : Optional.empty();
+            } catch (WebDriverException e) {
+                disable(e);
+                return Optional.empty();
+            }
+        }
+
+        private boolean mouse(String type, Map<?, ?> point, int clickCount) {
+            return send("Input.dispatchMouseEvent", Map.of(
+                    "type", type,
+                    "x", point.get("x"),
+                    "y", point.get("y"),
+                    "button", "mouseMoved".equals(type) ? "none" : "left",
+                    "buttons", "mousePressed".equals(type) ? 1 : 0,
+                    "clickCount", clickCount));
+        }
+
+        private boolean send(String method, Map<String, Object> params) {
+            try {
+                devTools.send(new Command<Void>(method, params));
+                return true;
+            } catch (WebDriverException e) {
+                disable(e);
+                return false;
+            }
+        }
+
+        private void disable(WebDriverException e) {
+            disabled = true;
+            logger.warn("DevTools fast path failed, switching to classic commands: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Цель DevTools, к которой подключена сессия соединения
+     */
+    private record AttachedTarget(SessionID cdpSession, String targetId) {
+    }
+}
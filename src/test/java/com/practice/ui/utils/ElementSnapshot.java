@@ -0,0 +1,31 @@
+package com.practice.ui.utils;
+
+import org.openqa.selenium.Rectangle;
+
+import java.util.Map;
+
+/**
+ * Неизменяемый снимок состояния элемента страницы, полученный одним запросом к браузеру
+ * @param index порядковый номер элемента среди найденных
+ * @param tagName имя тега
+ * @param text видимый текст элемента (пустая строка для невидимого элемента, как у {@code getText})
+ * @param attributes значения запрошенных атрибутов, отсутствующие атрибуты не попадают в карту
+ * @param displayed виден ли элемент
+ * @param rect положение и размер элемента
+ */
+public record ElementSnapshot(int index, String tagName, String text, Map<String, String> attributes,
+                              boolean displayed, Rectangle rect) {
+
+    public ElementSnapshot {
+        attributes = Map.copyOf(attributes);
+    }
+
+    /**
+     * Получить значение атрибута
+     * @param name название атрибута
+     * @return значение атрибута или null, если атрибут не запрашивался или отсутствует
+     */
+    public String attribute(String name) {
+        return attributes.get(name);
+    }
+}
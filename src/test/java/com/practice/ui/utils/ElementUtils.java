@@ -7,19 +7,69 @@ import org.openqa.selenium.support.ui.Select;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * Утилитный класс для работы с элементами страницы
+ * Утилитный класс для работы с элементами страницы.
+ * При {@code element.actions.mode=cdp} действия по локатору в Chromium-браузерах сначала выполняются
+ * через DevTools ({@link CdpActions}), классические команды WebDriver остаются запасным путем
  */
 public class ElementUtils {
     private static final Logger logger = LoggerFactory.getLogger(ElementUtils.class);
+    private static final String SNAPSHOT_SCRIPT = JsLocator.FIND_ALL_FUNCTION + """
+            var attributes = arguments[2], from = arguments[3], to = arguments[4];
+            var found = __findAll(arguments[0], arguments[1]);
+            function displayed(el) {
+              var style = window.getComputedStyle(el);
+              if (style.display === 'none' || style.visibility === 'hidden' || style.opacity === '0') { return false; }
+              var rect = el.getBoundingClientRect();
+              return rect.width > 0 && rect.height > 0;
+            }
+            var result = [];
+            for (var i = from; i < Math.min(to, found.length); i++) {
+              var el = found[i], rect = el.getBoundingClientRect(), visible = displayed(el), attrs = {};
+              attributes.forEach(function (name) {
+                var value = el.getAttribute(name);
+                if (value !== null) { attrs[name] = value; }
+              });
+              result.push({
+                tag: el.tagName.toLowerCase(),
+                text: visible ? (el.innerText || '').trim() : '',
+                attributes: attrs,
+                displayed: visible,
+                x: rect.left, y: rect.top, width: rect.width, height: rect.height
+              });
+            }
+            return result;
+            """;
 
     private ElementUtils() {
         throw new IllegalStateException("Utility class");
     }
 
+    /**
+     * Подготовить драйвер теста к быстрому пути DevTools: обертка отслеживает переключения окон и фреймов,
+     * чтобы действия не выполнялись в документе, из которого драйвер уже ушел.
+     * При {@code element.actions.mode=classic} и для браузеров без DevTools возвращается исходный драйвер
+     * @param driver драйвер браузера
+     * @return драйвер, который нужно отдать тесту
+     */
+    public static WebDriver trackContextSwitches(WebDriver driver) {
+        return CdpActions.track(driver);
+    }
+
     /**
      * Безопасный клик по элементу с предварительным ожиданием кликабельности
      * @param driver драйвер браузера
@@ -28,6 +78,9 @@ public class ElementUtils {
     @Step("Клик по элементу: {locator}")
     public static void click(WebDriver driver, By locator) {
         logger.debug("Клик по элементу: {}", locator);
+        if (CdpActions.click(driver, locator)) {
+            return;
+        }
         WebElement element = WaitUtils.waitForClickability(driver, locator);
         try {
             element.click();
@@ -58,6 +111,9 @@ public class ElementUtils {
     @Step("Ввод текста '{text}' в элемент: {locator}")
     public static void sendKeys(WebDriver driver, By locator, String text) {
         logger.debug("Ввод текста '{}' в элемент: {}", text, locator);
+        if (CdpActions.sendKeys(driver, locator, text)) {
+            return;
+        }
         WebElement element = WaitUtils.waitForVisibility(driver, locator);
         element.clear();
         element.sendKeys(text);
@@ -72,7 +128,8 @@ public class ElementUtils {
     @Step("Получение текста элемента: {locator}")
     public static String getText(WebDriver driver, By locator) {
         logger.debug("Получение текста элемента: {}", locator);
-        return WaitUtils.waitForVisibility(driver, locator).getText();
+        return CdpActions.getText(driver, locator)
+                .orElseGet(() -> WaitUtils.waitForVisibility(driver, locator).getText());
     }
 
     /**
@@ -84,9 +141,10 @@ public class ElementUtils {
     @Step("Проверка видимости элемента: {locator}")
     public static boolean isElementVisible(WebDriver driver, By locator) {
         try {
-            return driver.findElement(locator).isDisplayed();
-        } catch (NoSuchElementException | StaleElementReferenceException e) {
-            logger.debug("Элемент не найден или устарел: {}", locator);
+            List<WebElement> elements = WaitPolicy.withoutImplicitWait(driver, () -> driver.findElements(locator));
+            return !elements.isEmpty() && elements.get(0).isDisplayed();
+        } catch (StaleElementReferenceException e) {
+            logger.debug("Элемент устарел: {}", locator);
             return false;
         }
     }
@@ -112,10 +170,35 @@ public class ElementUtils {
     @Step("Наведение курсора на элемент: {locator}")
     public static void hoverOverElement(WebDriver driver, By locator) {
         logger.debug("Наведение курсора на элемент: {}", locator);
+        if (CdpActions.hover(driver, locator)) {
+            return;
+        }
         WebElement element = WaitUtils.waitForVisibility(driver, locator);
         new Actions(driver).moveToElement(element).perform();
     }
 
+    /**
+     * Наведение курсора на уже найденный элемент
+     * @param driver драйвер браузера
+     * @param element элемент
+     */
+    @Step("Наведение курсора на элемент")
+    public static void hoverOverElement(WebDriver driver, WebElement element) {
+        logger.debug("Наведение курсора на элемент: {}", element);
+        new Actions(driver).moveToElement(element).perform();
+    }
+
+    /**
+     * Прокрутка к уже найденному элементу
+     * @param driver драйвер браузера
+     * @param element элемент
+     */
+    @Step("Прокрутка к элементу")
+    public static void scrollToElement(WebDriver driver, WebElement element) {
+        logger.debug("Прокрутка к элементу: {}", element);
+        ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", element);
+    }
+
     /**
      * Прокрутка к элементу
      * @param driver драйвер браузера
@@ -124,6 +207,9 @@ public class ElementUtils {
     @Step("Прокрутка к элементу: {locator}")
     public static void scrollToElement(WebDriver driver, By locator) {
         logger.debug("Прокрутка к элементу: {}", locator);
+        if (CdpActions.scrollTo(driver, locator)) {
+            return;
+        }
         WebElement element = WaitUtils.waitForPresence(driver, locator);
         JavascriptExecutor executor = (JavascriptExecutor) driver;
         executor.executeScript("arguments[0].scrollIntoView(true);", element);
@@ -138,11 +224,71 @@ public class ElementUtils {
     @Step("Получение списка текстов элементов: {locator}")
     public static List<String> getElementsTexts(WebDriver driver, By locator) {
         logger.debug("Получение списка текстов элементов: {}", locator);
-        return driver.findElements(locator).stream()
-                .map(WebElement::getText)
+        return getElementsSnapshots(driver, locator).stream()
+                .map(ElementSnapshot::text)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Получение снимков всех элементов по локатору одним запросом к браузеру
+     * @param driver драйвер браузера
+     * @param locator локатор элементов
+     * @param attributes атрибуты, которые нужно включить в снимок
+     * @return список снимков элементов
+     */
+    @Step("Получение снимков элементов: {locator}")
+    public static List<ElementSnapshot> getElementsSnapshots(WebDriver driver, By locator, String... attributes) {
+        logger.debug("Получение снимков элементов: {}", locator);
+        return fetchSnapshots(driver, locator, Arrays.asList(attributes), 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Потоковое получение снимков элементов частями, чтобы на больших списках
+     * в памяти держалась только одна часть. Каждая часть запрашивается отдельным скриптом,
+     * поэтому список не должен меняться во время обхода
+     * @param driver драйвер браузера
+     * @param locator локатор элементов
+     * @param chunkSize количество элементов в одной части
+     * @param attributes атрибуты, которые нужно включить в снимок
+     * @return ленивый поток снимков элементов
+     */
+    public static Stream<ElementSnapshot> streamElementsSnapshots(WebDriver driver, By locator, int chunkSize,
+                                                                  String... attributes) {
+        logger.debug("Потоковое получение снимков элементов: {}, часть {}", locator, chunkSize);
+        List<String> attributeList = Arrays.asList(attributes);
+        int size = Math.max(1, chunkSize);
+        Iterator<ElementSnapshot> iterator = new Iterator<>() {
+            private List<ElementSnapshot> chunk = List.of();
+            private int position;
+            private int offset;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                if (position < chunk.size()) {
+                    return true;
+                }
+                if (exhausted) {
+                    return false;
+                }
+                chunk = fetchSnapshots(driver, locator, attributeList, offset, offset + size);
+                position = 0;
+                offset += chunk.size();
+                exhausted = chunk.size() < size;
+                return !chunk.isEmpty();
+            }
+
+            @Override
+            public ElementSnapshot next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return chunk.get(position++);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+    }
+
     /**
      * Проверка наличия атрибута у элемента
      * @param driver драйвер браузера
@@ -153,6 +299,51 @@ public class ElementUtils {
     @Step("Получение значения атрибута '{attribute}' элемента: {locator}")
     public static String getAttribute(WebDriver driver, By locator, String attribute) {
         logger.debug("Получение значения атрибута '{}' элемента: {}", attribute, locator);
-        return WaitUtils.waitForPresence(driver, locator).getAttribute(attribute);
+        return CdpActions.getAttribute(driver, locator, attribute)
+                .orElseGet(() -> WaitUtils.waitForPresence(driver, locator).getAttribute(attribute));
+    }
+
+    private static List<ElementSnapshot> fetchSnapshots(WebDriver driver, By locator, List<String> attributes,
+                                                        int from, int to) {
+        Optional<JsLocator> jsLocator = JsLocator.from(locator);
+        if (jsLocator.isEmpty() || !(driver instanceof JavascriptExecutor)) {
+            return fetchSnapshotsNatively(driver, locator, attributes, from, to);
+        }
+        List<?> raw = (List<?>) ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT,
+                jsLocator.get().strategy(), jsLocator.get().value(), attributes, from, to);
+        List<ElementSnapshot> snapshots = new ArrayList<>(raw.size());
+        for (int i = 0; i < raw.size(); i++) {
+            Map<?, ?> item = (Map<?, ?>) raw.get(i);
+            Map<String, String> values = new HashMap<>();
+            ((Map<?, ?>) item.get("attributes")).forEach((name, value) -> values.put(String.valueOf(name), String.valueOf(value)));
+            Rectangle rect = new Rectangle(toInt(item.get("x")), toInt(item.get("y")),
+                    toInt(item.get("height")), toInt(item.get("width")));
+            snapshots.add(new ElementSnapshot(from + i, String.valueOf(item.get("tag")), String.valueOf(item.get("text")),
+                    values, Boolean.TRUE.equals(item.get("displayed")), rect));
+        }
+        return snapshots;
+    }
+
+    private static List<ElementSnapshot> fetchSnapshotsNatively(WebDriver driver, By locator, List<String> attributes,
+                                                                int from, int to) {
+        List<WebElement> elements = driver.findElements(locator);
+        List<ElementSnapshot> snapshots = new ArrayList<>();
+        for (int i = from; i < Math.min(to, elements.size()); i++) {
+            WebElement element = elements.get(i);
+            Map<String, String> values = new HashMap<>();
+            for (String attribute : attributes) {
+                String value = element.getAttribute(attribute);
+                if (value != null) {
+                    values.put(attribute, value);
+                }
+            }
+            snapshots.add(new ElementSnapshot(i, element.getTagName(), element.getText(), values,
+                    element.isDisplayed(), element.getRect()));
+        }
+        return snapshots;
+    }
+
+    private static int toInt(Object number) {
+        return number instanceof Number ? (int) Math.round(((Number) number).doubleValue()) : 0;
     }
 }
\ No newline at end of file
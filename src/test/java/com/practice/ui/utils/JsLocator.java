@@ -0,0 +1,78 @@
+package com.practice.ui.utils;
+
+import org.openqa.selenium.By;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Описание локатора Selenium, пригодное для поиска элементов внутри JavaScript на странице.
+ * Поддерживаются стандартные стратегии {@link By}; составные локаторы не поддерживаются
+ */
+public final class JsLocator {
+    /**
+     * Функция поиска элементов на странице: {@code __findAll(strategy, value)} возвращает массив элементов
+     */
+    public static final String FIND_ALL_FUNCTION = """
+            function __findAll(strategy, value) {
+              var nodes;
+              switch (strategy) {
+                case 'id': nodes = document.querySelectorAll('#' + CSS.escape(value)); break;
+                case 'name': nodes = document.querySelectorAll('[name="' + CSS.escape(value) + '"]'); break;
+                case 'className': nodes = document.querySelectorAll('.' + CSS.escape(value)); break;
+                case 'tagName': nodes = document.getElementsByTagName(value); break;
+                case 'cssSelector': nodes = document.querySelectorAll(value); break;
+                case 'xpath':
+                  var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                  var found = [];
+                  for (var i = 0; i < snapshot.snapshotLength; i++) { found.push(snapshot.snapshotItem(i)); }
+                  return found;
+                case 'linkText':
+                case 'partialLinkText':
+                  return Array.prototype.filter.call(document.getElementsByTagName('a'), function (a) {
+                    var text = (a.innerText || '').trim();
+                    return strategy === 'linkText' ? text === value : text.indexOf(value) >= 0;
+                  });
+                default: throw new Error('Unsupported locator strategy: ' + strategy);
+              }
+              return Array.prototype.slice.call(nodes);
+            }
+            """;
+
+    private static final Set<String> SUPPORTED_STRATEGIES =
+            Set.of("id", "name", "className", "tagName", "cssSelector", "xpath", "linkText", "partialLinkText");
+
+    private final String strategy;
+    private final String value;
+
+    private JsLocator(String strategy, String value) {
+        this.strategy = strategy;
+        this.value = value;
+    }
+
+    /**
+     * Преобразовать локатор Selenium
+     * @param locator локатор элемента
+     * @return описание локатора или пустой Optional, если стратегия не поддерживается
+     */
+    public static Optional<JsLocator> from(By locator) {
+        String description = locator.toString();
+        int separator = description.indexOf(": ");
+        if (!description.startsWith("By.") || separator < 0) {
+            return Optional.empty();
+        }
+        String strategy = description.substring(3, separator);
+        if (!SUPPORTED_STRATEGIES.contains(strategy)) {
+            return Optional.empty();
+        }
+        return Optional.of(new JsLocator(strategy, description.substring(separator + 2)));
+    }
+
+    public String strategy() {
+        return strategy;
+    }
+
+    public String value() {
+        return value;
+    }
+}
@@ -0,0 +1,97 @@
+package com.practice.ui.utils;
+
+import com.practice.ui.config.ConfigFactory;
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Реестр локаторов.
+ * Каждый локатор создается один раз, и одинаковые локаторы разделяют один экземпляр {@link By},
+ * поэтому кэш элементов и ожидания работают с одним ключом. Выражения XPath при регистрации
+ * переводятся в CSS-селекторы, если CSS дает тот же результат (см. {@link XPathTranslator}):
+ * браузер вычисляет CSS заметно быстрее, что важно при опросе в ожиданиях.
+ * Локаторы, которые остаются XPath, вместе с причиной выводятся сводкой в конце запуска
+ * ({@link com.practice.ui.execution.XPathLocatorReport}).
+ * Перевод отключается через {@code locator.xpath.to.css=false}
+ */
+public final class LocatorRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(LocatorRegistry.class);
+    private static final Map<String, By> locators = new ConcurrentHashMap<>();
+    private static final Map<String, String> xpathOnly = new ConcurrentHashMap<>();
+
+    private LocatorRegistry() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Получить локатор по id
+     * @param id значение атрибута id
+     * @return локатор
+     */
+    public static By id(String id) {
+        return locators.computeIfAbsent("id:" + id, key -> By.id(id));
+    }
+
+    /**
+     * Получить локатор по CSS-селектору
+     * @param selector CSS-селектор
+     * @return локатор
+     */
+    public static By css(String selector) {
+        return locators.computeIfAbsent("cssSelector:" + selector, key -> By.cssSelector(selector));
+    }
+
+    /**
+     * Получить локатор по XPath; если возможно, возвращается эквивалентный CSS-локатор
+     * @param expression выражение XPath
+     * @return локатор
+     */
+    public static By xpath(String expression) {
+        return locators.computeIfAbsent("xpath:" + expression, key -> compile(expression));
+    }
+
+    /**
+     * Зарегистрировать готовый локатор, например построенный из {@code @FindBy}
+     * @param locator локатор
+     * @return зарегистрированный экземпляр или исходный локатор, если его стратегия не поддерживается
+     */
+    public static By intern(By locator) {
+        Optional<JsLocator> description = JsLocator.from(locator);
+        if (description.isEmpty()) {
+            return locator;
+        }
+        String strategy = description.get().strategy();
+        String value = description.get().value();
+        if ("xpath".equals(strategy)) {
+            return xpath(value);
+        }
+        return locators.computeIfAbsent(strategy + ":" + value, key -> locator);
+    }
+
+    /**
+     * Получить локаторы, которые остались XPath
+     * @return причина по выражению XPath
+     */
+    public static Map<String, String> xpathOnly() {
+        return Map.copyOf(xpathOnly);
+    }
+
+    private static By compile(String expression) {
+        if (!ConfigFactory.getBrowserConfig().isLocatorXpathToCss()) {
+            return By.xpath(expression);
+        }
+        XPathTranslator.Translation translation = XPathTranslator.translate(expression);
+        if (translation.translated()) {
+            logger.debug("XPath {} заменен на CSS {}", expression, translation.css());
+            return By.cssSelector(translation.css());
+        }
+        xpathOnly.put(expression, translation.reason());
+        logger.debug("Локатор остается XPath: {} ({})", expression, translation.reason());
+        return By.xpath(expression);
+    }
+}
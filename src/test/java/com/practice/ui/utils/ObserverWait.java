@@ -0,0 +1,206 @@
+package com.practice.ui.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Ожидания на стороне браузера.
+ * На страницу устанавливается MutationObserver, который проверяет условие при каждом изменении DOM
+ * и сразу завершает асинхронный скрипт, поэтому условие фиксируется без интервала опроса
+ * и без лишних запросов к драйверу. Если наблюдатель использовать нельзя (драйвер не выполняет JavaScript,
+ * стратегия локатора не поддерживается, элемент еще не найден), методы возвращают пустой Optional,
+ * и вызывающий код переходит к обычному ожиданию с опросом
+ */
+public final class ObserverWait {
+    private static final Logger logger = LoggerFactory.getLogger(ObserverWait.class);
+
+    /**
+     * Максимальная длительность одного асинхронного скрипта; должна быть меньше script timeout драйвера
+     */
+    private static final long CHUNK_MILLIS = 5_000;
+
+    private static final String WAIT_SCRIPT = JsLocator.FIND_ALL_FUNCTION + """
+            var strategy = arguments[0], value = arguments[1], condition = arguments[2];
+            var timeout = arguments[3], target = arguments[4];
+            var done = arguments[arguments.length - 1];
+            function find() {
+              if (target) { return target.isConnected ? target : null; }
+              var found = __findAll(strategy, value);
+              return found.length ? found[0] : null;
+            }
+            function visible(el) {
+              if (!el || !el.isConnected) { return false; }
+              var style = window.getComputedStyle(el);
+              if (style.display === 'none' || style.visibility === 'hidden' || style.opacity === '0') { return false; }
+              var rect = el.getBoundingClientRect();
+              return rect.width > 0 && rect.height > 0;
+            }
+            function check() {
+              var el = find();
+              switch (condition) {
+                case 'PRESENT': return el;
+                case 'VISIBLE': return visible(el) ? el : null;
+                case 'CLICKABLE': return visible(el) && !el.disabled ? el : null;
+                case 'INVISIBLE': return visible(el) ? null : true;
+              }
+              return null;
+            }
+            var initial = check();
+            if (initial) { done(initial); return; }
+            var finished = false, observer, timer, ticker;
+            function finish(result) {
+              if (finished) { return; }
+              finished = true;
+              observer.disconnect();
+              clearTimeout(timer);
+              clearInterval(ticker);
+              document.removeEventListener('transitionend', onEvent, true);
+              document.removeEventListener('animationend', onEvent, true);
+              done(result);
+            }
+            function onEvent() { var result = check(); if (result) { finish(result); } }
+            observer = new MutationObserver(onEvent);
+            observer.observe(document, {childList: true, subtree: true, attributes: true});
+            // изменения стилей через CSS-анимации не вызывают мутаций DOM
+            document.addEventListener('transitionend', onEvent, true);
+            document.addEventListener('animationend', onEvent, true);
+            ticker = setInterval(onEvent, 100);
+            timer = setTimeout(function () { finish(null); }, timeout);
+            """;
+
+    /**
+     * Условие ожидания
+     */
+    public enum Condition {
+        PRESENT,
+        VISIBLE,
+        CLICKABLE,
+        INVISIBLE
+    }
+
+    private ObserverWait() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Дождаться выполнения условия для элемента по локатору
+     * @param driver драйвер браузера
+     * @param locator локатор элемента
+     * @param condition условие ожидания
+     * @param timeout таймаут
+     * @return элемент ({@code Boolean.TRUE} для {@link Condition#INVISIBLE})
+     * или пустой Optional, если наблюдатель недоступен
+     * @throws TimeoutException если условие не выполнилось за отведенное время
+     */
+    public static Optional<Object> await(WebDriver driver, By locator, Condition condition, Duration timeout) {
+        Optional<JsLocator> jsLocator = JsLocator.from(locator);
+        if (jsLocator.isEmpty()) {
+            return Optional.empty();
+        }
+        return run(driver, jsLocator.get().strategy(), jsLocator.get().value(), null, condition, timeout,
+                String.valueOf(locator));
+    }
+
+    /**
+     * Дождаться выполнения условия для уже найденного элемента
+     * @param driver драйвер браузера
+     * @param element элемент
+     * @param condition условие ожидания
+     * @param timeout таймаут
+     * @return элемент или пустой Optional, если наблюдатель недоступен
+     * @throws TimeoutException если условие не выполнилось за отведенное время
+     */
+    public static Optional<Object> await(WebDriver driver, WebElement element, Condition condition, Duration timeout) {
+        return run(driver, null, null, element, condition, timeout, String.valueOf(element));
+    }
+
+    /**
+     * Дождаться видимости элемента
+     * @param driver драйвер браузера
+     * @param locator локатор элемента
+     * @param timeout таймаут
+     * @return видимый элемент или пустой Optional, если наблюдатель недоступен
+     */
+    public static Optional<WebElement> visibilityOf(WebDriver driver, By locator, Duration timeout) {
+        return await(driver, locator, Condition.VISIBLE, timeout).map(WebElement.class::cast);
+    }
+
+    /**
+     * Дождаться кликабельности элемента
+     * @param driver драйвер браузера
+     * @param locator локатор элемента
+     * @param timeout таймаут
+     * @return кликабельный элемент или пустой Optional, если наблюдатель недоступен
+     */
+    public static Optional<WebElement> clickabilityOf(WebDriver driver, By locator, Duration timeout) {
+        return await(driver, locator, Condition.CLICKABLE, timeout).map(WebElement.class::cast);
+    }
+
+    /**
+     * Дождаться появления элемента в DOM
+     * @param driver драйвер браузера
+     * @param locator локатор элемента
+     * @param timeout таймаут
+     * @return найденный элемент или пустой Optional, если наблюдатель недоступен
+     */
+    public static Optional<WebElement> presenceOf(WebDriver driver, By locator, Duration timeout) {
+        return await(driver, locator, Condition.PRESENT, timeout).map(WebElement.class::cast);
+    }
+
+    /**
+     * Дождаться исчезновения элемента
+     * @param driver драйвер браузера
+     * @param locator локатор элемента
+     * @param timeout таймаут
+     * @return true или пустой Optional, если наблюдатель недоступен
+     */
+    public static Optional<Boolean> invisibilityOf(WebDriver driver, By locator, Duration timeout) {
+        return await(driver, locator, Condition.INVISIBLE, timeout).map(result -> Boolean.TRUE);
+    }
+
+    private static Optional<Object> run(WebDriver driver, String strategy, String value, WebElement element,
+                                        Condition condition, Duration timeout, String description) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return Optional.empty();
+        }
+        JavascriptExecutor executor = (JavascriptExecutor) driver;
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        while (true) {
+            long chunk = Math.max(0, Math.min(CHUNK_MILLIS, deadline - System.currentTimeMillis()));
+            try {
+                Object result = executor.executeAsyncScript(WAIT_SCRIPT, strategy, value, condition.name(), chunk, element);
+                if (result != null) {
+                    return Optional.of(result);
+                }
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
+                // элемент PageFactory еще не найден или устарел, пусть решает обычное ожидание
+                return Optional.empty();
+            } catch (ScriptTimeoutException e) {
+                logger.debug("Скрипт ожидания превысил script timeout драйвера: {}", description);
+            } catch (JavascriptException e) {
+                if (!String.valueOf(e.getMessage()).contains("unload")) {
+                    logger.debug("Наблюдатель недоступен, переход к опросу: {}", e.getMessage());
+                    return Optional.empty();
+                }
+                // скрипт прерывается при переходе на другую страницу, повторяем на новой
+                logger.debug("Скрипт ожидания прерван переходом: {}", description);
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new TimeoutException("Условие " + condition + " не выполнилось за "
+                        + timeout.toMillis() + " мс: " + description);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.practice.ui.utils;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+
+/**
+ * Условие готовности страницы после перехода.
+ * При стратегии загрузки EAGER или NONE драйвер возвращает управление раньше, чем догрузятся
+ * все ресурсы страницы, и страница сама объявляет, когда с ней уже можно работать.
+ * Готовые реализации собраны в {@link ReadinessProbes}
+ */
+@FunctionalInterface
+public interface ReadinessProbe {
+
+    /**
+     * Дождаться готовности страницы
+     * @param driver драйвер браузера
+     * @param timeout максимальное время ожидания
+     * @throws TimeoutException если страница не стала готовой за отведенное время
+     */
+    void await(WebDriver driver, Duration timeout);
+}
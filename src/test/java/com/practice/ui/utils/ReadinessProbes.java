@@ -0,0 +1,171 @@
+package com.practice.ui.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Готовые условия готовности страницы для {@link ReadinessProbe}
+ */
+public final class ReadinessProbes {
+    private static final Logger logger = LoggerFactory.getLogger(ReadinessProbes.class);
+
+    /**
+     * Максимальная длительность одного асинхронного скрипта; должна быть меньше script timeout драйвера
+     */
+    private static final long CHUNK_MILLIS = 5_000;
+
+    /**
+     * Скрипт ждет, пока документ выйдет из состояния loading и в течение {@code quiet} мс не будет
+     * изменений DOM (режим dom) или завершений загрузки ресурсов (режим network)
+     */
+    private static final String QUIET_SCRIPT = """
+            var mode = arguments[0], quiet = arguments[1], timeout = arguments[2];
+            var done = arguments[arguments.length - 1];
+            var start = performance.now(), last = start, observer;
+            if (mode === 'network') {
+              last = 0;
+              performance.getEntriesByType('resource').forEach(function (entry) {
+                last = Math.max(last, entry.responseEnd);
+              });
+              observer = new PerformanceObserver(function () { last = performance.now(); });
+              observer.observe({type: 'resource'});
+            } else {
+              observer = new MutationObserver(function () { last = performance.now(); });
+              observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});
+            }
+            function check() {
+              var now = performance.now();
+              if (document.readyState !== 'loading' && now - last >= quiet) { finish(true); }
+              else if (now - start >= timeout) { finish(false); }
+            }
+            var ticker = setInterval(check, 25);
+            function finish(result) { clearInterval(ticker); observer.disconnect(); done(result); }
+            check();
+            """;
+
+    private ReadinessProbes() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Документ разобран (событие DOMContentLoaded), подресурсы могут еще загружаться
+     * @return условие готовности
+     */
+    public static ReadinessProbe documentInteractive() {
+        return named("document interactive", (driver, timeout) -> WaitUtils.createWait(driver, timeout)
+                .until(webDriver -> !"loading".equals(
+                        ((JavascriptExecutor) webDriver).executeScript("return document.readyState"))));
+    }
+
+    /**
+     * Документ и все подресурсы загружены, аналог стратегии загрузки NORMAL
+     * @return условие готовности
+     */
+    public static ReadinessProbe documentComplete() {
+        return named("document complete", (driver, timeout) -> WaitUtils.createWait(driver, timeout)
+                .until(webDriver -> "complete".equals(
+                        ((JavascriptExecutor) webDriver).executeScript("return document.readyState"))));
+    }
+
+    /**
+     * Ключевой элемент страницы видим.
+     * При стратегии NONE локатор должен однозначно указывать на новую страницу, а не на предыдущую
+     * @param locator локатор ключевого элемента
+     * @return условие готовности
+     */
+    public static ReadinessProbe element(By locator) {
+        return named("element " + locator, (driver, timeout) -> {
+            if (WaitUtils.isObserverEnabled() && ObserverWait.visibilityOf(driver, locator, timeout).isPresent()) {
+                return;
+            }
+            WaitUtils.createWait(driver, timeout)
+                    .until(ExpectedConditions.visibilityOfElementLocated(locator));
+        });
+    }
+
+    /**
+     * В течение {@code quiet} не завершилась загрузка ни одного ресурса.
+     * Эвристика по Resource Timing: долгие запросы, которые еще не завершились, не учитываются
+     * @param quiet длительность тишины
+     * @return условие готовности
+     */
+    public static ReadinessProbe networkIdle(Duration quiet) {
+        return named("network idle " + quiet.toMillis() + " ms",
+                (driver, timeout) -> awaitQuiet(driver, "network", quiet, timeout));
+    }
+
+    /**
+     * В течение {@code quiet} в DOM не было изменений
+     * @param quiet длительность тишины
+     * @return условие готовности
+     */
+    public static ReadinessProbe domQuiet(Duration quiet) {
+        return named("dom quiet " + quiet.toMillis() + " ms",
+                (driver, timeout) -> awaitQuiet(driver, "dom", quiet, timeout));
+    }
+
+    /**
+     * Все условия выполнены; условия проверяются по очереди в пределах общего таймаута
+     * @param probes условия готовности
+     * @return составное условие готовности
+     */
+    public static ReadinessProbe allOf(ReadinessProbe... probes) {
+        String description = Arrays.stream(probes).map(String::valueOf).collect(Collectors.joining(" and "));
+        return named(description, (driver, timeout) -> {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            for (ReadinessProbe probe : probes) {
+                probe.await(driver, Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
+            }
+        });
+    }
+
+    private static void awaitQuiet(WebDriver driver, String mode, Duration quiet, Duration timeout) {
+        JavascriptExecutor executor = (JavascriptExecutor) driver;
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        while (true) {
+            long chunk = Math.max(0, Math.min(CHUNK_MILLIS, deadline - System.currentTimeMillis()));
+            try {
+                if (Boolean.TRUE.equals(executor.executeAsyncScript(QUIET_SCRIPT, mode, quiet.toMillis(), chunk))) {
+                    return;
+                }
+            } catch (ScriptTimeoutException e) {
+                logger.debug("Скрипт ожидания тишины превысил script timeout драйвера");
+            } catch (JavascriptException e) {
+                if (!String.valueOf(e.getMessage()).contains("unload")) {
+                    throw e;
+                }
+                // страница еще переходит, повторяем на новом документе
+                logger.debug("Скрипт ожидания тишины прерван переходом");
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new TimeoutException("Страница не затихла (" + mode + ", " + quiet.toMillis() + " мс) за "
+                        + timeout.toMillis() + " мс");
+            }
+        }
+    }
+
+    private static ReadinessProbe named(String description, ReadinessProbe probe) {
+        return new ReadinessProbe() {
+            @Override
+            public void await(WebDriver driver, Duration timeout) {
+                probe.await(driver, timeout);
+            }
+
+            @Override
+            public String toString() {
+                return description;
+            }
+        };
+    }
+}
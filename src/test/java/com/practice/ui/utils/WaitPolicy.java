@@ -0,0 +1,70 @@
+package com.practice.ui.utils;
+
+import com.practice.ui.config.BrowserConfig;
+import com.practice.ui.config.ConfigFactory;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Единая политика ожиданий.
+ * Неявное ожидание драйвера по умолчанию выключено, а все явные ожидания берут таймаут
+ * из бюджета своего типа операции ({@code wait.timeout.*}), поэтому ожидания не складываются,
+ * а проверки отсутствия элемента возвращают результат сразу
+ */
+public final class WaitPolicy {
+    private static final BrowserConfig config = ConfigFactory.getBrowserConfig();
+
+    private WaitPolicy() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Получить бюджет времени для типа операции
+     * @param type тип операции ожидания
+     * @return таймаут
+     */
+    public static Duration timeout(WaitType type) {
+        switch (type) {
+            case PRESENCE:
+                return Duration.ofSeconds(config.presenceTimeout());
+            case ABSENCE:
+                return Duration.ofSeconds(config.absenceTimeout());
+            case PAGE_LOAD:
+                return Duration.ofSeconds(config.pageLoadTimeout());
+            case VISIBILITY:
+            default:
+                return Duration.ofSeconds(config.visibilityTimeout());
+        }
+    }
+
+    /**
+     * Неявное ожидание, которое выставляется драйверу при создании
+     * @return таймаут неявного ожидания, ноль если оно выключено
+     */
+    public static Duration implicitWait() {
+        return config.isImplicitWaitEnabled() ? Duration.ofSeconds(config.timeout()) : Duration.ZERO;
+    }
+
+    /**
+     * Выполнить действие с выключенным неявным ожиданием.
+     * Если неявное ожидание и так выключено, действие выполняется без лишних команд драйверу
+     * @param driver драйвер браузера
+     * @param action действие
+     * @param <T> тип результата
+     * @return результат действия
+     */
+    public static <T> T withoutImplicitWait(WebDriver driver, Supplier<T> action) {
+        Duration implicitWait = implicitWait();
+        if (implicitWait.isZero()) {
+            return action.get();
+        }
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        try {
+            return action.get();
+        } finally {
+            driver.manage().timeouts().implicitlyWait(implicitWait);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.practice.ui.utils;
+
+/**
+ * Стратегия ожидания элементов
+ */
+public enum WaitStrategy {
+    /**
+     * Опрос с фиксированным интервалом
+     */
+    POLLING,
+    /**
+     * Опрос с нарастающим интервалом
+     */
+    BACKOFF,
+    /**
+     * Наблюдатель изменений DOM на странице, при недоступности — опрос с нарастающим интервалом
+     */
+    OBSERVER;
+
+    /**
+     * Получить стратегию из строки
+     * @param name название стратегии
+     * @return стратегия ожидания
+     */
+    public static WaitStrategy fromString(String name) {
+        for (WaitStrategy strategy : values()) {
+            if (strategy.name().equalsIgnoreCase(name)) {
+                return strategy;
+            }
+        }
+        return OBSERVER;
+    }
+}
@@ -0,0 +1,11 @@
+package com.practice.ui.utils;
+
+/**
+ * Тип операции ожидания, для каждого задается собственный бюджет времени
+ */
+public enum WaitType {
+    PRESENCE,
+    VISIBILITY,
+    ABSENCE,
+    PAGE_LOAD
+}
@@ -1,5 +1,6 @@
 package com.practice.ui.utils;
 
+import com.practice.ui.config.BrowserConfig;
 import com.practice.ui.config.ConfigFactory;
 import io.qameta.allure.Step;
 import org.openqa.selenium.*;
@@ -9,16 +10,23 @@ import org.openqa.selenium.support.ui.Wait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Clock;
 import java.time.Duration;
+import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
- * Утилитный класс для работы с ожиданиями элементов
+ * Утилитный класс для работы с ожиданиями элементов.
+ * Стратегия ожидания задается параметром {@code wait.strategy}: в режиме {@link WaitStrategy#OBSERVER}
+ * условие отслеживается на странице через {@link ObserverWait}, а опрос остается запасным вариантом.
+ * Таймауты берутся из {@link WaitPolicy} по типу операции
  */
 public class WaitUtils {
     private static final Logger logger = LoggerFactory.getLogger(WaitUtils.class);
-    private static final long DEFAULT_TIMEOUT = ConfigFactory.getBrowserConfig().timeout();
+    private static final BrowserConfig config = ConfigFactory.getBrowserConfig();
     private static final long POLLING_INTERVAL = 500;
+    private static final WaitStrategy STRATEGY = WaitStrategy.fromString(config.waitStrategy());
 
     private WaitUtils() {
         throw new IllegalStateException("Utility class");
@@ -30,7 +38,17 @@ public class WaitUtils {
      * @return объект ожидания
      */
     public static Wait<WebDriver> createWait(WebDriver driver) {
-        return createWait(driver, DEFAULT_TIMEOUT);
+        return createWait(driver, WaitType.VISIBILITY);
+    }
+
+    /**
+     * Создать объект ожидания с бюджетом времени для типа операции
+     * @param driver драйвер браузера
+     * @param type тип операции ожидания
+     * @return объект ожидания
+     */
+    public static Wait<WebDriver> createWait(WebDriver driver, WaitType type) {
+        return createWait(driver, WaitPolicy.timeout(type));
     }
 
     /**
@@ -40,8 +58,22 @@ public class WaitUtils {
      * @return объект ожидания
      */
     public static Wait<WebDriver> createWait(WebDriver driver, long timeoutInSeconds) {
-        return new FluentWait<>(driver)
-                .withTimeout(Duration.ofSeconds(timeoutInSeconds))
+        return createWait(driver, Duration.ofSeconds(timeoutInSeconds));
+    }
+
+    /**
+     * Создать объект ожидания с таймаутом без округления до секунд
+     * @param driver драйвер браузера
+     * @param timeout таймаут
+     * @return объект ожидания
+     */
+    public static Wait<WebDriver> createWait(WebDriver driver, Duration timeout) {
+        FluentWait<WebDriver> wait = STRATEGY == WaitStrategy.POLLING
+                ? new FluentWait<>(driver)
+                : new FluentWait<>(driver, Clock.systemDefaultZone(),
+                        new BackoffSleeper(config.waitBackoffInitialMillis(), config.waitBackoffMaxMillis()));
+        return wait
+                .withTimeout(timeout)
                 .pollingEvery(Duration.ofMillis(POLLING_INTERVAL))
                 .ignoring(NoSuchElementException.class)
                 .ignoring(StaleElementReferenceException.class);
@@ -56,7 +88,8 @@ public class WaitUtils {
     @Step("Ожидание видимости элемента: {locator}")
     public static WebElement waitForVisibility(WebDriver driver, By locator) {
         logger.debug("Ожидание видимости элемента: {}", locator);
-        return createWait(driver).until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return observe(() -> ObserverWait.visibilityOf(driver, locator, WaitPolicy.timeout(WaitType.VISIBILITY)))
+                .orElseGet(() -> createWait(driver).until(ExpectedConditions.visibilityOfElementLocated(locator)));
     }
 
     /**
@@ -69,7 +102,9 @@ public class WaitUtils {
     @Step("Ожидание видимости элемента: {locator} с таймаутом {timeoutInSeconds} сек")
     public static WebElement waitForVisibility(WebDriver driver, By locator, long timeoutInSeconds) {
         logger.debug("Ожидание видимости элемента: {} с таймаутом {} сек", locator, timeoutInSeconds);
-        return createWait(driver, timeoutInSeconds).until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return observe(() -> ObserverWait.visibilityOf(driver, locator, Duration.ofSeconds(timeoutInSeconds)))
+                .orElseGet(() -> createWait(driver, timeoutInSeconds)
+                        .until(ExpectedConditions.visibilityOfElementLocated(locator)));
     }
 
     /**
@@ -81,7 +116,8 @@ public class WaitUtils {
     @Step("Ожидание кликабельности элемента: {locator}")
     public static WebElement waitForClickability(WebDriver driver, By locator) {
         logger.debug("Ожидание кликабельности элемента: {}", locator);
-        return createWait(driver).until(ExpectedConditions.elementToBeClickable(locator));
+        return observe(() -> ObserverWait.clickabilityOf(driver, locator, WaitPolicy.timeout(WaitType.VISIBILITY)))
+                .orElseGet(() -> createWait(driver).until(ExpectedConditions.elementToBeClickable(locator)));
     }
 
     /**
@@ -93,7 +129,8 @@ public class WaitUtils {
     @Step("Ожидание присутствия элемента в DOM: {locator}")
     public static WebElement waitForPresence(WebDriver driver, By locator) {
         logger.debug("Ожидание присутствия элемента в DOM: {}", locator);
-        return createWait(driver).until(ExpectedConditions.presenceOfElementLocated(locator));
+        return observe(() -> ObserverWait.presenceOf(driver, locator, WaitPolicy.timeout(WaitType.PRESENCE)))
+                .orElseGet(() -> createWait(driver, WaitType.PRESENCE).until(ExpectedConditions.presenceOfElementLocated(locator)));
     }
 
     /**
@@ -105,7 +142,20 @@ public class WaitUtils {
     @Step("Ожидание исчезновения элемента: {locator}")
     public static boolean waitForInvisibility(WebDriver driver, By locator) {
         logger.debug("Ожидание исчезновения элемента: {}", locator);
-        return createWait(driver).until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        return observe(() -> ObserverWait.invisibilityOf(driver, locator, WaitPolicy.timeout(WaitType.ABSENCE)))
+                .orElseGet(() -> createWait(driver, WaitType.ABSENCE).until(ExpectedConditions.invisibilityOfElementLocated(locator)));
+    }
+
+    /**
+     * Быстрая проверка отсутствия элемента на странице без ожидания
+     * @param driver драйвер браузера
+     * @param locator локатор элемента
+     * @return true если элемента нет в DOM
+     */
+    @Step("Проверка отсутствия элемента: {locator}")
+    public static boolean isAbsent(WebDriver driver, By locator) {
+        logger.debug("Проверка отсутствия элемента: {}", locator);
+        return WaitPolicy.withoutImplicitWait(driver, () -> driver.findElements(locator).isEmpty());
     }
 
     /**
@@ -115,7 +165,7 @@ public class WaitUtils {
     @Step("Ожидание загрузки страницы")
     public static void waitForPageLoad(WebDriver driver) {
         logger.debug("Ожидание загрузки страницы");
-        createWait(driver).until(webDriver -> 
+        createWait(driver, WaitType.PAGE_LOAD).until(webDriver -> 
             ((JavascriptExecutor) webDriver).executeScript("return document.readyState").equals("complete"));
     }
 
@@ -130,4 +180,16 @@ public class WaitUtils {
         logger.debug("Ожидание выполнения пользовательского условия");
         return createWait(driver).until(condition);
     }
+
+    /**
+     * Проверить, включены ли ожидания через наблюдатель DOM
+     * @return true, если используется {@link WaitStrategy#OBSERVER}
+     */
+    public static boolean isObserverEnabled() {
+        return STRATEGY == WaitStrategy.OBSERVER;
+    }
+
+    private static <T> Optional<T> observe(Supplier<Optional<T>> observer) {
+        return isObserverEnabled() ? observer.get() : Optional.empty();
+    }
 }
\ No newline at end of file
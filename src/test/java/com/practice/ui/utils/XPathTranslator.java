@@ -0,0 +1,234 @@
+package com.practice.ui.utils;
+
+/**
+ * Перевод XPath в эквивалентный CSS-селектор.
+ * Поддерживается подмножество XPath, для которого CSS дает тот же набор элементов в том же порядке:
+ * шаги {@code //} и {@code /}, ось {@code following-sibling::} после {@code /}, имена элементов и {@code *},
+ * предикаты {@code @attr}, {@code @attr='v'}, {@code @attr!='v'}, {@code contains(@attr,'v')},
+ * {@code starts-with(@attr,'v')}, {@code not(...)}, {@code and} и номер позиции первым предикатом.
+ * Для остального возвращается причина, по которой локатор остается XPath
+ */
+final class XPathTranslator {
+
+    /**
+     * Результат перевода: CSS-селектор или причина, по которой перевод невозможен
+     */
+    record Translation(String css, String reason) {
+
+        boolean translated() {
+            return css != null;
+        }
+    }
+
+    private final String xpath;
+    private int pos;
+
+    private XPathTranslator(String xpath) {
+        this.xpath = xpath;
+    }
+
+    /**
+     * Перевести XPath в CSS
+     * @param xpath выражение XPath
+     * @return CSS-селектор или причина отказа
+     */
+    static Translation translate(String xpath) {
+        try {
+            return new Translation(new XPathTranslator(xpath.trim()).path(), null);
+        } catch (Untranslatable e) {
+            return new Translation(null, e.getMessage());
+        }
+    }
+
+    private String path() {
+        if (!xpath.startsWith("//")) {
+            throw new Untranslatable(xpath.startsWith("/")
+                    ? "абсолютный путь от корня документа"
+                    : "путь относительно текущего узла");
+        }
+        StringBuilder css = new StringBuilder();
+        boolean first = true;
+        while (pos < xpath.length()) {
+            String combinator;
+            if (consume("//")) {
+                combinator = first ? "" : " ";
+            } else if (consume("/")) {
+                combinator = " > ";
+            } else {
+                throw new Untranslatable("неподдерживаемое выражение: " + xpath.substring(pos));
+            }
+            css.append(step(combinator));
+            first = false;
+        }
+        return css.toString();
+    }
+
+    private String step(String combinator) {
+        if (xpath.startsWith("..", pos) || xpath.startsWith(".", pos)) {
+            throw new Untranslatable("переход к текущему или родительскому узлу");
+        }
+        String name = name();
+        boolean sibling = false;
+        if (consume("::")) {
+            if ("following-sibling".equals(name) && " > ".equals(combinator)) {
+                sibling = true;
+                combinator = " ~ ";
+            } else if (!"child".equals(name)) {
+                throw new Untranslatable("ось " + name + ":: недоступна в CSS");
+            }
+            name = name();
+        }
+        if (xpath.startsWith("(", pos)) {
+            throw new Untranslatable("шаг " + name + "() выбирает не элементы");
+        }
+        if (xpath.startsWith(":", pos)) {
+            throw new Untranslatable("имя с префиксом пространства имен");
+        }
+
+        StringBuilder css = new StringBuilder(combinator).append(name);
+        int predicates = 0;
+        while (consume("[")) {
+            skipWhitespace();
+            if (pos < xpath.length() && Character.isDigit(xpath.charAt(pos))) {
+                int start = pos;
+                while (pos < xpath.length() && Character.isDigit(xpath.charAt(pos))) {
+                    pos++;
+                }
+                // позиция XPath совпадает с :nth-of-type только среди всех детей родителя с этим именем
+                if (predicates > 0 || sibling || "*".equals(name)) {
+                    throw new Untranslatable("позиционный предикат после фильтрации или по оси");
+                }
+                css.append(":nth-of-type(").append(xpath, start, pos).append(')');
+            } else {
+                css.append(condition());
+            }
+            expect("]");
+            predicates++;
+        }
+        return css.toString();
+    }
+
+    private String condition() {
+        StringBuilder css = new StringBuilder(term());
+        while (true) {
+            skipWhitespace();
+            if (consume("and ")) {
+                css.append(term());
+            } else if (xpath.startsWith("or ", pos)) {
+                throw new Untranslatable("условие or");
+            } else {
+                return css.toString();
+            }
+        }
+    }
+
+    private String term() {
+        skipWhitespace();
+        if (consume("not(")) {
+            String inner = condition();
+            expect(")");
+            return ":not(" + inner + ")";
+        }
+        if (consume("contains(")) {
+            return function("*=");
+        }
+        if (consume("starts-with(")) {
+            return function("^=");
+        }
+        if (consume("@")) {
+            String attribute = name();
+            skipWhitespace();
+            if (consume("!=")) {
+                return "[" + attribute + "]:not([" + attribute + "=" + literal() + "])";
+            }
+            if (consume("=")) {
+                return "[" + attribute + "=" + literal() + "]";
+            }
+            return "[" + attribute + "]";
+        }
+        if (xpath.startsWith("text()", pos) || xpath.startsWith(".", pos) || xpath.startsWith("normalize-space(", pos)) {
+            throw new Untranslatable("CSS не сравнивает текст элемента");
+        }
+        throw new Untranslatable("неподдерживаемое условие: " + xpath.substring(pos));
+    }
+
+    private String function(String operator) {
+        skipWhitespace();
+        if (!consume("@")) {
+            throw new Untranslatable("CSS не сравнивает текст элемента");
+        }
+        String attribute = name();
+        skipWhitespace();
+        expect(",");
+        String value = literal();
+        expect(")");
+        return "[" + attribute + operator + value + "]";
+    }
+
+    private String name() {
+        skipWhitespace();
+        if (consume("*")) {
+            return "*";
+        }
+        int start = pos;
+        while (pos < xpath.length()) {
+            char c = xpath.charAt(pos);
+            boolean valid = Character.isLetter(c) || c == '_' || (pos > start && (Character.isDigit(c) || c == '-'));
+            if (!valid) {
+                break;
+            }
+            pos++;
+        }
+        if (start == pos) {
+            throw new Untranslatable("неподдерживаемое выражение: " + xpath.substring(pos));
+        }
+        return xpath.substring(start, pos);
+    }
+
+    private String literal() {
+        skipWhitespace();
+        if (pos >= xpath.length() || (xpath.charAt(pos) != '\'' && xpath.charAt(pos) != '"')) {
+            throw new Untranslatable("сравнение не со строковой константой");
+        }
+        char quote = xpath.charAt(pos);
+        int end = xpath.indexOf(quote, pos + 1);
+        if (end < 0) {
+            throw new Untranslatable("незакрытая строка");
+        }
+        String value = xpath.substring(pos + 1, end);
+        pos = end + 1;
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private void expect(String token) {
+        skipWhitespace();
+        if (!consume(token)) {
+            throw new Untranslatable("неподдерживаемое выражение: " + xpath.substring(pos));
+        }
+    }
+
+    private boolean consume(String token) {
+        if (xpath.startsWith(token, pos)) {
+            pos += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (pos < xpath.length() && Character.isWhitespace(xpath.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    /**
+     * Выражение нельзя перевести в CSS; сообщение содержит причину
+     */
+    private static final class Untranslatable extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private Untranslatable(String reason) {
+            super(reason, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.practice.ui.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@Tag("UnitTest")
+public class XPathTranslatorTest {
+
+    @Test
+    @DisplayName("Атрибуты и вложенность переводятся в CSS")
+    public void testAttributesAndDescendants() {
+        assertCss("input[id=\"name\"]", "//input[@id='name']");
+        assertCss("form input[name]", "//form//input[@name]");
+        assertCss("div[class*=\"x\"][id^=\"y\"]", "//div[contains(@class,'x') and starts-with(@id,'y')]");
+    }
+
+    @Test
+    @DisplayName("Ось following-sibling после / переводится в комбинатор ~")
+    public void testFollowingSibling() {
+        assertCss("label[for=\"x\"] ~ input", "//label[@for='x']/following-sibling::input");
+    }
+
+    @Test
+    @DisplayName("Сравнение != требует наличия атрибута, как в XPath")
+    public void testNotEquals() {
+        assertCss("input[type]:not([type=\"hidden\"])", "//input[@type!='hidden']");
+    }
+
+    @Test
+    @DisplayName("Функция not() переводится в :not()")
+    public void testNot() {
+        assertCss("button:not([disabled])", "//button[not(@disabled)]");
+    }
+
+    @Test
+    @DisplayName("Номер позиции первым предикатом переводится в :nth-of-type")
+    public void testPosition() {
+        assertCss("ul > li:nth-of-type(2)", "//ul/li[2]");
+    }
+
+    @ParameterizedTest
+    @DisplayName("Выражения без эквивалента в CSS остаются XPath")
+    @ValueSource(strings = {
+            "//li[.='Yes']",
+            "//li[text()='Yes']",
+            "//label[contains(text(),'x')]",
+            "//input[@id='a' or @id='b']",
+            "//div/ancestor::form",
+            "//div//following-sibling::input",
+            "//input/..//span",
+            "//ul/li[@class='a'][2]",
+            "//form/*[1]",
+            "/html/body",
+            "(//input)[1]"
+    })
+    public void testRejected(String xpath) {
+        XPathTranslator.Translation translation = XPathTranslator.translate(xpath);
+        assertFalse(translation.translated(), () -> xpath + " переведен в " + translation.css());
+        assertNotNull(translation.reason());
+    }
+
+    private static void assertCss(String expected, String xpath) {
+        XPathTranslator.Translation translation = XPathTranslator.translate(xpath);
+        assertTrue(translation.translated(), () -> xpath + " не переведен: " + translation.reason());
+        assertEquals(expected, translation.css());
+    }
+}
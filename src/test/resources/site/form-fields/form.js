@@ -0,0 +1,4 @@
+document.getElementById('feedbackForm').addEventListener('submit', function (event) {
+    event.preventDefault();
+    alert('Message received!');
+});